@@ -0,0 +1,73 @@
+/*
+ * Copyright 2025 Cosinus Software
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.cosinus.stream;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Input stream counting the bytes read, to know the position of the next data in the underlying file.
+ */
+final class CountingInputStream extends FilterInputStream {
+
+    private long count;
+
+    /**
+     * Instantiates a new CountingInputStream.
+     *
+     * @param input the underlying input stream
+     */
+    CountingInputStream(final InputStream input) {
+        super(input);
+    }
+
+    @Override
+    public int read() throws IOException {
+        int value = super.read();
+        if (value >= 0) {
+            count++;
+        }
+        return value;
+    }
+
+    @Override
+    public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+        int readCount = super.read(buffer, offset, length);
+        if (readCount > 0) {
+            count += readCount;
+        }
+        return readCount;
+    }
+
+    @Override
+    public long skip(final long length) throws IOException {
+        long skipped = super.skip(length);
+        count += skipped;
+        return skipped;
+    }
+
+    /**
+     * Gets the number of bytes read so far.
+     *
+     * @return the number of bytes read
+     */
+    long getCount() {
+        return count;
+    }
+}
@@ -0,0 +1,279 @@
+/*
+ * Copyright 2025 Cosinus Software
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.cosinus.stream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * The persisted index of the children of the {@link VersionedStreamSupplier versioned stream suppliers}
+ * expanded by a flat stream, by stream key and version.
+ * <p>
+ * The index of the previous traversal is scanned once to locate the children of every stream key,
+ * which are read back only when requested. The index of the current traversal is written alongside,
+ * and it replaces the previous one when the flat stream is closed.
+ * After a complete traversal, the stream suppliers not expanded by it are dropped from the index.
+ * After a traversal closed before its end, the entries of the previous index not reached are kept,
+ * so a partial traversal never loses the children indexed by a previous one.
+ * The expansions completing after the index is closed are not indexed anymore.
+ *
+ * @param <S> the type of stream supplier
+ */
+final class FingerprintIndex<S extends StreamSupplier<?>> implements AutoCloseable {
+
+    private static final Logger LOG = LogManager.getLogger(FingerprintIndex.class);
+
+    private static final int MAGIC = 0x46534649;
+
+    private static final int VERSION = 1;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path file;
+
+    private final Path nextFile;
+
+    private final StreamSupplierSerializer<S> serializer;
+
+    private final Map<String, IndexEntry> previousEntries = new HashMap<>();
+
+    private final Set<String> nextKeys = new HashSet<>();
+
+    private FileChannel previousChannel;
+
+    private DataOutputStream nextOutput;
+
+    private boolean complete;
+
+    private boolean closed;
+
+    /**
+     * Instantiates a new FingerprintIndex, scanning the index of the previous traversal, if any.
+     *
+     * @param file       the index file
+     * @param serializer the serializer of the stream suppliers
+     */
+    FingerprintIndex(final Path file, final StreamSupplierSerializer<S> serializer) {
+        this.file = file;
+        this.nextFile = file.resolveSibling(file.getFileName() + ".tmp");
+        this.serializer = serializer;
+        if (Files.exists(file)) {
+            scan();
+        }
+    }
+
+    private void scan() {
+        try (CountingInputStream counter = new CountingInputStream(
+            new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE));
+             DataInputStream input = new DataInputStream(counter)) {
+            if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+                throw new IOException("Not a fingerprint index file: " + file);
+            }
+            while (input.readBoolean()) {
+                String key = input.readUTF();
+                String version = input.readUTF();
+                int length = input.readInt();
+                previousEntries.put(key, new IndexEntry(version, counter.getCount(), length));
+                input.skipNBytes(length);
+            }
+            previousChannel = FileChannel.open(file, READ);
+        } catch (EOFException ex) {
+            LOG.warn("Truncated fingerprint index ignored: {}", file);
+            previousEntries.clear();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot read the fingerprint index " + file, ex);
+        }
+    }
+
+    /**
+     * Get the children of a versioned stream supplier, reused from the previous traversal if its version
+     * is unchanged, otherwise streamed and saved for the next traversal.
+     *
+     * @param streamSupplier the versioned stream supplier
+     * @param streamChildren the request of the children of the stream supplier
+     * @return the stream of children
+     */
+    Stream<? extends S> getChildren(final VersionedStreamSupplier<?> streamSupplier,
+                                    final Supplier<Stream<? extends S>> streamChildren) {
+        String key = streamSupplier.getStreamKey();
+        String version = streamSupplier.getStreamVersion();
+        if (version == null) {
+            return streamChildren.get();
+        }
+
+        try {
+            IndexEntry previousEntry = previousEntries.get(key);
+            if (previousEntry != null && previousEntry.version().equals(version)) {
+                byte[] data = reusePrevious(key, previousEntry);
+                if (data != null) {
+                    return deserialize(data).stream();
+                }
+            }
+
+            List<S> children;
+            try (Stream<? extends S> stream = streamChildren.get()) {
+                children = new ArrayList<>(stream.toList());
+            }
+            writeNext(key, version, serialize(children));
+            return children.stream();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot index the children of " + key + " in " + file, ex);
+        }
+    }
+
+    private synchronized byte[] reusePrevious(final String key, final IndexEntry entry) throws IOException {
+        // the previous index file is closed along with the index
+        if (closed) {
+            return null;
+        }
+        byte[] data = readPrevious(entry);
+        writeNext(key, entry.version(), data);
+        return data;
+    }
+
+    private byte[] readPrevious(final IndexEntry entry) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(entry.length());
+        long position = entry.position();
+        while (buffer.hasRemaining()) {
+            int readCount = previousChannel.read(buffer, position);
+            if (readCount < 0) {
+                throw new EOFException();
+            }
+            position += readCount;
+        }
+        return buffer.array();
+    }
+
+    private byte[] serialize(final List<S> children) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeInt(children.size());
+            for (S child : children) {
+                serializer.write(child, output);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private List<S> deserialize(final byte[] data) throws IOException {
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(data));
+        int count = input.readInt();
+        List<S> children = new ArrayList<>(count);
+        for (int index = 0; index < count; index++) {
+            children.add(serializer.read(input));
+        }
+        return children;
+    }
+
+    private synchronized void writeNext(final String key, final String version, final byte[] data)
+        throws IOException {
+        if (closed) {
+            return;
+        }
+        if (nextOutput == null) {
+            nextOutput = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(nextFile), BUFFER_SIZE));
+            nextOutput.writeInt(MAGIC);
+            nextOutput.writeInt(VERSION);
+        }
+        nextKeys.add(key);
+        nextOutput.writeBoolean(true);
+        nextOutput.writeUTF(key);
+        nextOutput.writeUTF(version);
+        nextOutput.writeInt(data.length);
+        nextOutput.write(data);
+    }
+
+    /**
+     * Mark the traversal as complete, so the entries not reached by it are dropped when the index is saved.
+     */
+    synchronized void markComplete() {
+        complete = true;
+    }
+
+    /**
+     * Replace the index of the previous traversal by the index of the current one,
+     * merged with the entries of the previous index not reached if the traversal is not complete.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        try {
+            if (nextOutput != null && !complete) {
+                for (Map.Entry<String, IndexEntry> previousEntry : previousEntries.entrySet()) {
+                    if (!nextKeys.contains(previousEntry.getKey())) {
+                        IndexEntry entry = previousEntry.getValue();
+                        writeNext(previousEntry.getKey(), entry.version(), readPrevious(entry));
+                    }
+                }
+            }
+            if (previousChannel != null) {
+                previousChannel.close();
+                previousChannel = null;
+            }
+            if (nextOutput != null) {
+                try (DataOutputStream output = nextOutput) {
+                    nextOutput = null;
+                    output.writeBoolean(false);
+                }
+                Files.move(nextFile, file, REPLACE_EXISTING, ATOMIC_MOVE);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot save the fingerprint index " + file, ex);
+        } finally {
+            closed = true;
+        }
+    }
+
+    /**
+     * The location of the children of a stream key in the previous index.
+     *
+     * @param version  the version of the stream
+     * @param position the position of the children in the index file
+     * @param length   the length of the children data
+     */
+    private record IndexEntry(String version, long position, int length) {
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2025 Cosinus Software
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.cosinus.stream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Deque;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * The checkpoint file of a {@link FlatStreamingSpliterator}, keeping its pending stream suppliers
+ * and the stream suppliers already expanded, so an interrupted traversal can be resumed.
+ * <p>
+ * The pending children of an expanded stream supplier are saved as their parent and the number of children
+ * already pulled, so the parent is streamed again on resume and the pulled children are skipped.
+ * The ancestors of the pending stream suppliers are not saved, only their depth.
+ *
+ * @param <S> the type of stream supplier
+ */
+final class FlatStreamingCheckpoint<S extends StreamSupplier<?>> {
+
+    private static final Logger LOG = LogManager.getLogger(FlatStreamingCheckpoint.class);
+
+    private static final int MAGIC = 0x46534350;
+
+    private static final int VERSION = 1;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final byte END = 0;
+
+    private static final byte NODE = 1;
+
+    private static final byte CHILDREN = 2;
+
+    private final Path file;
+
+    private final StreamSupplierSerializer<S> serializer;
+
+    /**
+     * Instantiates a new FlatStreamingCheckpoint.
+     *
+     * @param file       the checkpoint file
+     * @param serializer the serializer of the stream suppliers
+     */
+    FlatStreamingCheckpoint(final Path file, final StreamSupplierSerializer<S> serializer) {
+        this.file = file;
+        this.serializer = serializer;
+    }
+
+    /**
+     * Gets the checkpoint file.
+     *
+     * @return the checkpoint file
+     */
+    Path getFile() {
+        return file;
+    }
+
+    /**
+     * Check if the checkpoint file exists, so the traversal can be resumed.
+     *
+     * @return true if the checkpoint file exists
+     */
+    boolean exists() {
+        return Files.exists(file);
+    }
+
+    /**
+     * Save the traversal state to the checkpoint file.
+     * <p>
+     * The state is written to a temporary sibling file and then moved over the checkpoint file,
+     * so a crash while saving keeps the previous checkpoint.
+     *
+     * @param queue   the queue of pending nodes, in traversal order
+     * @param visited the stream suppliers already expanded, or null if they are not saved
+     */
+    void save(final Deque<FlatStreamingNode<S>> queue, final Set<S> visited) {
+        Path tmpFile = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            try (DataOutputStream output = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(tmpFile), BUFFER_SIZE))) {
+                output.writeInt(MAGIC);
+                output.writeInt(VERSION);
+                if (visited != null) {
+                    for (S streamSupplier : visited) {
+                        output.writeBoolean(true);
+                        serializer.write(streamSupplier, output);
+                    }
+                }
+                output.writeBoolean(false);
+
+                for (FlatStreamingNode<S> node : queue) {
+                    writeNode(node, output);
+                }
+                if (queue instanceof SpillingFrontier<S> spillingFrontier) {
+                    spillingFrontier.forEachSpilled(node -> {
+                        try {
+                            writeNode(node, output);
+                        } catch (IOException ex) {
+                            throw new UncheckedIOException("Cannot save the flat stream checkpoint to " + file, ex);
+                        }
+                    });
+                }
+                output.writeByte(END);
+            }
+            Files.move(tmpFile, file, REPLACE_EXISTING, ATOMIC_MOVE);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot save the flat stream checkpoint to " + file, ex);
+        }
+    }
+
+    private void writeNode(final FlatStreamingNode<S> node, final DataOutputStream output) throws IOException {
+        if (!node.isChildren()) {
+            output.writeByte(NODE);
+            output.writeInt(node.getDepth());
+            output.writeBoolean(node.isExpanded());
+            serializer.write(node.getStreamSupplier(), output);
+        } else if (node.getParent() != null) {
+            output.writeByte(CHILDREN);
+            output.writeInt(node.getParent().getDepth());
+            serializer.write(node.getParent().getStreamSupplier(), output);
+            output.writeLong(node.getPulledCount());
+        } else {
+            LOG.warn("Pending root stream suppliers cannot be saved in the flat stream checkpoint {}", file);
+        }
+    }
+
+    /**
+     * Load the traversal state from the checkpoint file.
+     *
+     * @param queue          the queue to fill with the pending nodes
+     * @param visited        the set to fill with the stream suppliers already expanded, or null to skip them
+     * @param streamChildren the function streaming again the children of an expanded stream supplier
+     */
+    void load(final Deque<FlatStreamingNode<S>> queue,
+              final Set<S> visited,
+              final Function<S, Stream<? extends S>> streamChildren) {
+        try (DataInputStream input = new DataInputStream(
+            new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE))) {
+            if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+                throw new IOException("Unsupported flat stream checkpoint format");
+            }
+            while (input.readBoolean()) {
+                S streamSupplier = serializer.read(input);
+                if (visited != null) {
+                    visited.add(streamSupplier);
+                }
+            }
+
+            byte kind;
+            while ((kind = input.readByte()) != END) {
+                int depth = input.readInt();
+                if (kind == NODE) {
+                    boolean expanded = input.readBoolean();
+                    FlatStreamingNode<S> node = new FlatStreamingNode<>(serializer.read(input), depth);
+                    if (expanded) {
+                        node.setExpanded();
+                    }
+                    queue.add(node);
+                } else if (kind == CHILDREN) {
+                    FlatStreamingNode<S> parent = new FlatStreamingNode<>(serializer.read(input), depth);
+                    parent.setExpanded();
+                    long pulledCount = input.readLong();
+                    queue.add(new FlatStreamingNode<>(
+                        parent, streamChildren.apply(parent.getStreamSupplier()), pulledCount));
+                } else {
+                    throw new IOException("Invalid flat stream checkpoint entry: " + kind);
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot load the flat stream checkpoint from " + file, ex);
+        }
+    }
+
+    /**
+     * Delete the checkpoint file, once the traversal is complete.
+     */
+    void delete() {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot delete the flat stream checkpoint " + file, ex);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2025 Cosinus Software
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.cosinus.stream;
+
+import org.cosinus.stream.error.StreamTimeoutException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import static java.util.concurrent.Executors.newVirtualThreadPerTaskExecutor;
+
+/**
+ * Executor of the stream supplier expansions requested in background by a flat stream, on virtual threads.
+ * <p>
+ * It also runs the calls bounded by a deadline or hedged, tracking the latencies of the calls.
+ * The latency of every completed call is tracked, winning or not, and a call hitting its deadline
+ * is tracked with the deadline as latency, so the slow calls are not missing from the tracked latencies.
+ * <p>
+ * One executor is shared by a spliterator and all the spliterators split from it.
+ */
+final class FlatStreamingExecutor implements AutoCloseable {
+
+    private final LatencyTracker latencyTracker = new LatencyTracker();
+
+    private ExecutorService executor;
+
+    /**
+     * Run a task in background.
+     *
+     * @param <R>  the type of the task result
+     * @param task the task
+     * @return the future result
+     */
+    <R> Future<R> submit(final Callable<R> task) {
+        return executor().submit(task);
+    }
+
+    /**
+     * Run a call in background and wait for its result, up to a deadline.
+     * <p>
+     * If the call is hedged and its result is not there within the given percentile of the recent latencies,
+     * the call is fired a second time and the first result wins. The result of the other call is closed.
+     *
+     * @param <R>             the type of the call result
+     * @param call            the call
+     * @param timeout         the deadline of the call, or null for no deadline
+     * @param hedgePercentile the percentile of the recent latencies after which the call is hedged,
+     *                        or 0 if the call is not hedged
+     * @return the first result of the call
+     * @throws StreamTimeoutException if the call did not return before the deadline
+     */
+    <R extends AutoCloseable> R call(final Callable<R> call, final Duration timeout, final double hedgePercentile) {
+        long start = System.nanoTime();
+        long deadline = timeout != null ? start + timeout.toNanos() : Long.MAX_VALUE;
+        Duration hedgeDelay = hedgePercentile > 0 ? latencyTracker.getPercentile(hedgePercentile) : null;
+        CompletableFuture<R> result = new CompletableFuture<>();
+        AtomicInteger runningCalls = new AtomicInteger();
+        List<Future<?>> calls = new ArrayList<>(2);
+        calls.add(submitCall(call, result, runningCalls));
+        try {
+            if (hedgeDelay != null) {
+                try {
+                    return result.get(Math.min(hedgeDelay.toNanos(), deadline - start), NANOSECONDS);
+                } catch (TimeoutException ex) {
+                    calls.add(submitCall(call, result, runningCalls));
+                }
+            }
+            return timeout != null ?
+                result.get(Math.max(0, deadline - System.nanoTime()), NANOSECONDS) :
+                result.get();
+        } catch (TimeoutException ex) {
+            result.completeExceptionally(ex);
+            latencyTracker.record(timeout.toNanos());
+            throw new StreamTimeoutException("Call not returned within " + timeout);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            result.cancel(true);
+            throw new IllegalStateException("Interrupted while waiting for a call", ex);
+        } catch (ExecutionException ex) {
+            throw unwrap(ex);
+        } finally {
+            calls.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private <R extends AutoCloseable> Future<?> submitCall(final Callable<R> call,
+                                                           final CompletableFuture<R> result,
+                                                           final AtomicInteger runningCalls) {
+        runningCalls.incrementAndGet();
+        return executor().submit(() -> {
+            long start = System.nanoTime();
+            R value;
+            try {
+                value = call.call();
+            } catch (Throwable throwable) {
+                // a failed call loses against a pending hedged call
+                if (runningCalls.decrementAndGet() == 0) {
+                    result.completeExceptionally(throwable);
+                }
+                return null;
+            }
+
+            latencyTracker.record(System.nanoTime() - start);
+            runningCalls.decrementAndGet();
+            if (!result.complete(value) && value != null) {
+                value.close();
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Wait for a task run in background.
+     *
+     * @param <R>    the type of the task result
+     * @param future the future result
+     * @return the result
+     */
+    static <R> R await(final Future<R> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new IllegalStateException("Interrupted while waiting for a stream supplier expansion", ex);
+        } catch (ExecutionException ex) {
+            throw unwrap(ex);
+        }
+    }
+
+    private static RuntimeException unwrap(final ExecutionException ex) {
+        if (ex.getCause() instanceof RuntimeException cause) {
+            return cause;
+        }
+        if (ex.getCause() instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(ex.getCause());
+    }
+
+    private synchronized ExecutorService executor() {
+        if (executor == null) {
+            executor = newVirtualThreadPerTaskExecutor();
+        }
+        return executor;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright 2025 Cosinus Software
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.cosinus.stream;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+/**
+ * A stream supplier pending in the queue of a {@link FlatStreamingSpliterator}, with its traversal state.
+ * <p>
+ * In a depth first traversal, the node can also stand for the pending children of an expanded stream supplier,
+ * pulled lazily from their stream as the traversal reaches them.
+ *
+ * @param <S> the type of stream supplier
+ */
+final class FlatStreamingNode<S extends StreamSupplier<?>> {
+
+    private final S streamSupplier;
+
+    private final FlatStreamingNode<S> parent;
+
+    private final int depth;
+
+    private boolean expanded;
+
+    private boolean pruned;
+
+    private Future<List<S>> expansion;
+
+    private final Stream<? extends S> children;
+
+    private final Iterator<? extends S> childrenIterator;
+
+    private long pulledCount;
+
+    /**
+     * Instantiates a new FlatStreamingNode.
+     *
+     * @param streamSupplier the stream supplier
+     * @param parent         the node of the stream supplier which streamed this one, or null for a root
+     */
+    FlatStreamingNode(final S streamSupplier, final FlatStreamingNode<S> parent) {
+        this.streamSupplier = streamSupplier;
+        this.parent = parent;
+        this.depth = parent != null ? parent.depth + 1 : 0;
+        this.children = null;
+        this.childrenIterator = null;
+    }
+
+    /**
+     * Instantiates a new FlatStreamingNode read back without its parent.
+     *
+     * @param streamSupplier the stream supplier
+     * @param depth          the depth of the node
+     */
+    FlatStreamingNode(final S streamSupplier, final int depth) {
+        this.streamSupplier = streamSupplier;
+        this.parent = null;
+        this.depth = depth;
+        this.children = null;
+        this.childrenIterator = null;
+    }
+
+    /**
+     * Instantiates a new FlatStreamingNode standing for the pending children of an expanded node.
+     *
+     * @param parent   the expanded node, or null for pending roots
+     * @param children the stream of children
+     */
+    FlatStreamingNode(final FlatStreamingNode<S> parent, final Stream<? extends S> children) {
+        this(parent, children, 0);
+    }
+
+    /**
+     * Instantiates a new FlatStreamingNode standing for the pending children of an expanded node,
+     * some of them being already pulled.
+     *
+     * @param parent      the expanded node, or null for pending roots
+     * @param children    the stream of children
+     * @param pulledCount the number of children already pulled, to skip
+     */
+    FlatStreamingNode(final FlatStreamingNode<S> parent, final Stream<? extends S> children, final long pulledCount) {
+        this.streamSupplier = null;
+        this.parent = parent;
+        this.depth = parent != null ? parent.depth + 1 : 0;
+        this.children = children;
+        this.childrenIterator = children.skip(pulledCount).iterator();
+        this.pulledCount = pulledCount;
+    }
+
+    /**
+     * Gets the stream supplier.
+     *
+     * @return the stream supplier
+     */
+    S getStreamSupplier() {
+        return streamSupplier;
+    }
+
+    /**
+     * Gets the node of the stream supplier which streamed this one.
+     *
+     * @return the parent node, or null for a root
+     */
+    FlatStreamingNode<S> getParent() {
+        return parent;
+    }
+
+    /**
+     * Gets the depth of the node.
+     *
+     * @return the depth, 0 for a root
+     */
+    int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Check if an ancestor of this node has a stream supplier equal to this one.
+     *
+     * @return true if this node is a descendant of an equal stream supplier
+     */
+    boolean hasEqualAncestor() {
+        for (FlatStreamingNode<S> ancestor = parent; ancestor != null; ancestor = ancestor.parent) {
+            if (ancestor.streamSupplier.equals(streamSupplier)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Ask if the children of the stream supplier were already pushed in the queue.
+     *
+     * @return true if the node was expanded
+     */
+    boolean isExpanded() {
+        return expanded;
+    }
+
+    /**
+     * Mark the node as expanded.
+     */
+    void setExpanded() {
+        this.expanded = true;
+    }
+
+    /**
+     * Ask if the subtree of the stream supplier is pruned, so it is not expanded.
+     *
+     * @return true if the node is pruned
+     */
+    boolean isPruned() {
+        return pruned;
+    }
+
+    /**
+     * Mark the node as pruned.
+     */
+    void setPruned() {
+        this.pruned = true;
+    }
+
+    /**
+     * Gets the children of the stream supplier requested in background, if any.
+     *
+     * @return the future children, or null if they were not requested in background
+     */
+    Future<List<S>> getExpansion() {
+        return expansion;
+    }
+
+    /**
+     * Sets the children of the stream supplier requested in background.
+     *
+     * @param expansion the future children, or null when they are consumed
+     */
+    void setExpansion(final Future<List<S>> expansion) {
+        this.expansion = expansion;
+    }
+
+    /**
+     * Ask if the node stands for the pending children of an expanded node.
+     *
+     * @return true if the node holds a stream of children
+     */
+    boolean isChildren() {
+        return children != null;
+    }
+
+    /**
+     * Pull the next pending children, as new nodes.
+     *
+     * @param count the maximum number of children to pull
+     * @return the nodes of the pulled children, empty if all the children were pulled
+     */
+    List<FlatStreamingNode<S>> pullChildren(final int count) {
+        List<FlatStreamingNode<S>> nodes = new ArrayList<>(count);
+        while (nodes.size() < count && childrenIterator.hasNext()) {
+            nodes.add(new FlatStreamingNode<>(childrenIterator.next(), parent));
+            pulledCount++;
+        }
+        return nodes;
+    }
+
+    /**
+     * Gets the number of children already pulled.
+     *
+     * @return the number of pulled children
+     */
+    long getPulledCount() {
+        return pulledCount;
+    }
+
+    /**
+     * Close the stream of pending children.
+     */
+    void closeChildren() {
+        if (children != null) {
+            children.close();
+        }
+    }
+}
@@ -20,41 +20,115 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.cosinus.stream.error.SkipPipelineConsumeException;
 
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Deque;
-import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Queue;
 import java.util.Set;
+import java.util.Spliterator;
 import java.util.Spliterators.AbstractSpliterator;
-import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Future;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
 import static java.lang.Long.MAX_VALUE;
-import static org.cosinus.stream.Streams.reverseStream;
+import static org.cosinus.stream.TraversalStrategy.DEFAULT_TRAVERSAL;
+import static org.cosinus.stream.TraversalStrategy.UNLIMITED_FRONTIER;
 import static org.cosinus.stream.reflection.ParametrizedClassPredicate.isParametrizedClass;
-import static org.cosinus.stream.reflection.ReflectionStream.ancestorStream;
+import static org.cosinus.stream.reflection.ReflectionStream.classAncestorStream;
 
 /**
  * Spliterator for flattening a tree of streams
+ * <p>
+ * For the depth first strategies, the children of an expanded stream supplier are pulled lazily from their stream,
+ * which stays open until all its children are pulled.
+ * So the memory of the traversal is bounded by the depth of the tree rather than by the number of children.
+ * <p>
+ * The spliterator can be split over its pending subtrees,
+ * so a parallel flat stream expands the tree on several threads.
+ * For the depth first strategies, a prefix of the pending subtrees is split, which keeps the encounter order.
+ * For {@link FlatStreamingStrategy#LEVEL_UP_BOTTOM}, the pending subtrees are split only if the traversal strategy
+ * is not {@link TraversalStrategy#isOrdered() ordered}; otherwise, a batch of the next elements is split.
+ * <p>
+ * If the traversal strategy asks for {@link TraversalStrategy#getPrefetchExpansions() prefetched expansions},
+ * the next pending stream suppliers are expanded in background and their children are pushed in the queue
+ * only when the traversal reaches them, which keeps the traversal order.
+ * <p>
+ * For {@link FlatStreamingStrategy#LEVEL_UP_BOTTOM}, the pending stream suppliers beyond
+ * the {@link TraversalStrategy#getFrontierMemoryThreshold() frontier memory threshold} are spilled to a temporary file,
+ * if the traversal strategy gives a {@link TraversalStrategy#getStreamSupplierSerializer() serializer}.
+ * <p>
+ * If the traversal strategy gives a {@link TraversalStrategy#getFingerprintIndexFile() fingerprint index file},
+ * the children of the unchanged {@link VersionedStreamSupplier versioned stream suppliers}
+ * are reused from the previous traversal instead of being streamed again.
+ * <p>
+ * If the traversal strategy gives a {@link TraversalStrategy#getCheckpointFile() checkpoint file},
+ * the state of the traversal is saved periodically to it, and a new flat stream resumes from it if asked to.
+ * <p>
+ * The stream suppliers already expanded are tracked according to the {@link VisitedPolicy} of the traversal strategy.
+ * The traversal strategy can also limit the depth of the traversal and prune subtrees,
+ * in which case the pruned stream suppliers are streamed but never expanded.
  *
  * @param <S> the type parameter
  */
-public class FlatStreamingSpliterator<S extends StreamSupplier<?>> extends AbstractSpliterator<S> {
+public class FlatStreamingSpliterator<S extends StreamSupplier<?>> extends AbstractSpliterator<S>
+    implements AutoCloseable {
 
     private static final Logger LOG = LogManager.getLogger(FlatStreamingSpliterator.class);
 
+    /**
+     * The number of pending children pulled in front of a depth first queue to be shared by a split.
+     */
+    private static final int SPLIT_PULL_COUNT = 64;
+
+    private static final ClassValue<Boolean> META_STREAM_SUPPLIER_CLASSES = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(final Class<?> type) {
+            return MetaStreamSupplier.class.isAssignableFrom(type) ||
+                classAncestorStream(type)
+                    .anyMatch(isParametrizedClass(StreamSupplier.class)
+                        .withGenericsExtending(StreamSupplier.class));
+        }
+    };
+
     private final FlatStreamingStrategy flatStreamingStrategy;
 
     final StreamingStrategy streamingStrategy;
 
-    private final Queue<S> streamersQueue;
+    private final TraversalStrategy traversalStrategy;
+
+    private final Deque<FlatStreamingNode<S>> streamersQueue;
 
     private final Function<StreamSupplier<S>, Stream<S>> streamSupplierHandler;
 
     private final Set<S> streamedAlready;
 
+    private final FlatStreamingExecutor expansionExecutor;
+
+    private final FlatStreamingCheckpoint<S> checkpoint;
+
+    private final FingerprintIndex<S> fingerprintIndex;
+
+    private final Queue<FlatStreamingSpliterator<S>> splitSpliterators;
+
+    private long lastCheckpointTime;
+
+    private int prefetchedExpansions;
+
+    private boolean split;
+
+    private boolean resumed;
+
+    private boolean exhausted;
+
     /**
      * Constructor.
      *
@@ -83,43 +157,299 @@ public class FlatStreamingSpliterator<S extends StreamSupplier<?>> extends Abstr
         final Stream<S> streamers,
         final Function<StreamSupplier<S>, Stream<S>> streamSupplierHandler) {
 
-        super(MAX_VALUE, ORDERED | NONNULL);
+        this(flatStreamingStrategy,
+            streamingStrategy,
+            traversalStrategy(streamingStrategy),
+            createQueue(flatStreamingStrategy, traversalStrategy(streamingStrategy)),
+            streamSupplierHandler,
+            createVisitedSet(traversalStrategy(streamingStrategy).getVisitedPolicy()),
+            new FlatStreamingExecutor(),
+            createCheckpoint(traversalStrategy(streamingStrategy)),
+            createFingerprintIndex(traversalStrategy(streamingStrategy)),
+            new ConcurrentLinkedQueue<>());
+        if (checkpoint != null && checkpoint.exists() && traversalStrategy.isResumeFromCheckpoint()) {
+            LOG.info("Resume flat streaming from checkpoint: {}", checkpoint.getFile());
+            streamers.close();
+            resumed = true;
+            checkpoint.load(streamersQueue, getCheckpointedVisited(), this::resumeChildren);
+        } else {
+            if (checkpoint != null) {
+                checkpoint.delete();
+            }
+            streamers.map(streamer -> new FlatStreamingNode<>(streamer, null)).forEach(this.streamersQueue::add);
+        }
+    }
+
+    /**
+     * Instantiates a new Flat streaming spliterator, sharing the state of the spliterator it was split from.
+     *
+     * @param flatStreamingStrategy the strategy
+     * @param streamingStrategy     the streaming strategy
+     * @param traversalStrategy     the traversal strategy
+     * @param streamersQueue        the queue of pending stream suppliers
+     * @param streamSupplierHandler the stream supplier handler
+     * @param streamedAlready       the set of streamed stream suppliers, or null if not tracked in a set
+     * @param expansionExecutor     the executor of the expansions requested in background
+     * @param checkpoint            the checkpoint of the traversal, or null if not checkpointed
+     * @param fingerprintIndex      the index of the children of the versioned stream suppliers, or null
+     * @param splitSpliterators     the spliterators split from the same flat stream, closed along with it
+     */
+    private FlatStreamingSpliterator(
+        final FlatStreamingStrategy flatStreamingStrategy,
+        final StreamingStrategy streamingStrategy,
+        final TraversalStrategy traversalStrategy,
+        final Deque<FlatStreamingNode<S>> streamersQueue,
+        final Function<StreamSupplier<S>, Stream<S>> streamSupplierHandler,
+        final Set<S> streamedAlready,
+        final FlatStreamingExecutor expansionExecutor,
+        final FlatStreamingCheckpoint<S> checkpoint,
+        final FingerprintIndex<S> fingerprintIndex,
+        final Queue<FlatStreamingSpliterator<S>> splitSpliterators) {
+
+        super(MAX_VALUE, traversalStrategy.isOrdered() ? ORDERED | NONNULL : NONNULL);
         this.flatStreamingStrategy = flatStreamingStrategy;
         this.streamingStrategy = streamingStrategy;
-        this.streamersQueue = flatStreamingStrategy.isDepthFirst() ?
-            new ConcurrentLinkedDeque<>() :
-            new ConcurrentLinkedQueue<>();
+        this.traversalStrategy = traversalStrategy;
+        this.streamersQueue = streamersQueue;
         this.streamSupplierHandler = streamSupplierHandler;
-        this.streamedAlready = new HashSet<>();
-        streamers.forEach(this.streamersQueue::add);
+        this.streamedAlready = streamedAlready;
+        this.expansionExecutor = expansionExecutor;
+        this.checkpoint = checkpoint;
+        this.fingerprintIndex = fingerprintIndex;
+        this.splitSpliterators = splitSpliterators;
+        this.lastCheckpointTime = System.nanoTime();
     }
 
     @Override
     public boolean tryAdvance(Consumer<? super S> action) {
-        S streamSupplier = streamersQueue.peek();
-        if (streamSupplier == null) {
-            return false;
+        FlatStreamingNode<S> node;
+        while ((node = prefetchExpansions().peek()) != null) {
+            if (node.isChildren()) {
+                pullChildren(node);
+                continue;
+            }
+
+            boolean expandable = isExpandable(node);
+            boolean emitted = flatStreamingStrategy.isParentFirst() || !expandable;
+            if (emitted) {
+                action.accept(streamersQueue.poll().getStreamSupplier());
+            }
+
+            if (expandable) {
+                expand(node);
+            } else {
+                cancelExpansion(node);
+            }
+
+            // a parent streamed after its children is kept in the queue until its children are streamed
+            if (emitted) {
+                checkpointIfDue();
+                return true;
+            }
+        }
+        if (checkpoint != null) {
+            checkpoint.delete();
         }
+        exhausted = true;
+        return false;
+    }
 
-        boolean isMetaStreamSupplier = ancestorStream(streamSupplier)
-            .anyMatch(isParametrizedClass(StreamSupplier.class)
-                .withGenericsExtending(StreamSupplier.class));
+    private void expand(final FlatStreamingNode<S> node) {
+        S streamSupplier = node.getStreamSupplier();
+        node.setExpanded();
+        try {
+            pushInQueue(node, getChildren(node));
+        } catch (SkipPipelineConsumeException skipPipelineConsumeException) {
+            LOG.info("Stream flatting step skipped while streaming from: {}", streamSupplier);
+        }
+        setStreamed(streamSupplier);
+    }
+
+    @Override
+    public Spliterator<S> trySplit() {
+        if (checkpoint == null && flatStreamingStrategy.isDepthFirst()) {
+            prepareDepthFirstSplit();
+        }
+        if (checkpoint != null ||
+            streamersQueue.size() < 2 ||
+            !flatStreamingStrategy.isDepthFirst() && traversalStrategy.isOrdered()) {
+            return super.trySplit();
+        }
 
-        boolean isMetaStreamSupplierButNotYetStreamed = isMetaStreamSupplier && !isStreamed(streamSupplier);
-        if (flatStreamingStrategy.isParentFirst() || !isMetaStreamSupplierButNotYetStreamed) {
-            action.accept(streamersQueue.poll());
+        // the pending subtrees are streamed one after the other, so a prefix of them can be streamed separately
+        Deque<FlatStreamingNode<S>> prefixQueue = createQueue(flatStreamingStrategy, traversalStrategy);
+        for (int index = streamersQueue.size() / 2; index > 0; index--) {
+            prefixQueue.add(streamersQueue.poll());
+        }
+        FlatStreamingSpliterator<S> prefix = new FlatStreamingSpliterator<>(
+            flatStreamingStrategy,
+            streamingStrategy,
+            traversalStrategy,
+            prefixQueue,
+            streamSupplierHandler,
+            streamedAlready,
+            expansionExecutor,
+            null,
+            fingerprintIndex,
+            splitSpliterators);
+        prefix.prefetchedExpansions = (int) prefixQueue.stream()
+            .filter(node -> node.getExpansion() != null)
+            .count();
+        prefetchedExpansions -= prefix.prefetchedExpansions;
+        splitSpliterators.add(prefix);
+        split = true;
+        return prefix;
+    }
+
+    /**
+     * Prepare the head of a depth first queue to be split, so it holds several pending sibling subtrees.
+     * <p>
+     * The pending children of an expanded stream supplier wait in one lazy node, so if less than two subtrees
+     * are pending in front of it, the head stream supplier is expanded if needed,
+     * and a batch of its pending children is pulled in front of the queue.
+     */
+    private void prepareDepthFirstSplit() {
+        FlatStreamingNode<S> head = streamersQueue.peek();
+        if (head == null || countLeadingSubtrees() >= 2) {
+            return;
         }
 
-        if (isMetaStreamSupplierButNotYetStreamed) {
-            try (Stream<? extends S> stream = getStream((StreamSupplier<S>) streamSupplier)) {
-                pushInQueue(stream);
-            } catch (SkipPipelineConsumeException skipPipelineConsumeException) {
-                LOG.info("Stream flatting step skipped while streaming from: {}", streamSupplier);
+        if (!head.isChildren() && isExpandable(head)) {
+            if (flatStreamingStrategy.isParentFirst()) {
+                // the parent is streamed before its children, so it stays in front of them
+                streamersQueue.poll();
+                expand(head);
+                streamersQueue.push(head);
+            } else {
+                expand(head);
+            }
+        }
+
+        Deque<FlatStreamingNode<S>> leadingSubtrees = new ArrayDeque<>();
+        while (!streamersQueue.isEmpty() && !streamersQueue.peek().isChildren()) {
+            leadingSubtrees.push(streamersQueue.poll());
+        }
+        FlatStreamingNode<S> children = streamersQueue.peek();
+        if (children != null) {
+            List<FlatStreamingNode<S>> nodes = pullChildren(children, SPLIT_PULL_COUNT);
+            if (nodes.isEmpty()) {
+                streamersQueue.poll();
+                children.closeChildren();
+            }
+            for (int index = nodes.size() - 1; index >= 0; index--) {
+                streamersQueue.push(nodes.get(index));
+            }
+        }
+        leadingSubtrees.forEach(streamersQueue::push);
+    }
+
+    private int countLeadingSubtrees() {
+        int count = 0;
+        for (FlatStreamingNode<S> node : streamersQueue) {
+            if (node.isChildren() || ++count >= 2) {
+                break;
             }
-            setStreamed(streamSupplier);
+        }
+        return count;
+    }
+
+    /**
+     * Request in background the children of the next pending stream suppliers,
+     * up to the number of prefetched expansions.
+     *
+     * @return the queue of pending stream suppliers
+     */
+    private Deque<FlatStreamingNode<S>> prefetchExpansions() {
+        int prefetchExpansions = traversalStrategy.getPrefetchExpansions();
+        if (prefetchedExpansions >= prefetchExpansions) {
+            return streamersQueue;
+        }
+
+        Iterator<FlatStreamingNode<S>> nodes = streamersQueue.iterator();
+        for (int index = 0; index < prefetchExpansions && nodes.hasNext(); index++) {
+            FlatStreamingNode<S> node = nodes.next();
+            S streamSupplier = node.getStreamSupplier();
+            if (node.getExpansion() == null && isExpandable(node)) {
+                node.setExpansion(expansionExecutor.submit(() -> {
+                    List<S> children = new ArrayList<>();
+                    try (Stream<? extends S> stream = streamChildren(streamSupplier)) {
+                        stream.forEach(children::add);
+                    }
+                    return children;
+                }));
+                if (++prefetchedExpansions >= prefetchExpansions) {
+                    break;
+                }
+            }
+        }
+        return streamersQueue;
+    }
+
+    private boolean isExpandable(final FlatStreamingNode<S> node) {
+        if (node.isChildren()) {
+            return false;
+        }
+        S streamSupplier = node.getStreamSupplier();
+        if (node.isExpanded() || node.isPruned() || !isMetaStreamSupplier(streamSupplier) ||
+            streamSupplier instanceof MetaStreamSupplier<?> metaStreamSupplier && metaStreamSupplier.isLeaf()) {
+            return false;
+        }
+        if (node.getDepth() >= traversalStrategy.getMaxDepth() ||
+            !traversalStrategy.shouldExpand(streamSupplier, node.getDepth())) {
+            node.setPruned();
+            return false;
+        }
+        return traversalStrategy.getVisitedPolicy() == VisitedPolicy.ANCESTORS ?
+            !node.hasEqualAncestor() :
+            !isStreamed(streamSupplier);
+    }
+
+    private Stream<? extends S> getChildren(final FlatStreamingNode<S> node) {
+        Future<List<S>> expansion = node.getExpansion();
+        if (expansion == null) {
+            return streamChildren(node.getStreamSupplier());
         }
 
-        return true;
+        node.setExpansion(null);
+        prefetchedExpansions--;
+        return FlatStreamingExecutor.await(expansion).stream();
+    }
+
+    private void cancelExpansion(final FlatStreamingNode<S> node) {
+        Future<List<S>> expansion = node.getExpansion();
+        if (expansion != null) {
+            expansion.cancel(true);
+            node.setExpansion(null);
+            prefetchedExpansions--;
+        }
+    }
+
+    /**
+     * Stream the children of an expanded stream supplier,
+     * reused from the fingerprint index if it is a versioned stream supplier not changed since the previous traversal.
+     *
+     * @param streamSupplier the expanded stream supplier
+     * @return the stream of children
+     */
+    private Stream<? extends S> streamChildren(final S streamSupplier) {
+        if (fingerprintIndex != null && streamSupplier instanceof VersionedStreamSupplier<?> versionedStreamSupplier) {
+            return fingerprintIndex.getChildren(versionedStreamSupplier,
+                () -> getStream((StreamSupplier<S>) streamSupplier));
+        }
+        return getStream((StreamSupplier<S>) streamSupplier);
+    }
+
+    /**
+     * Check if a stream supplier streams other stream suppliers, so it has to be expanded.
+     * <p>
+     * The check is done once per class: either the class implements {@link MetaStreamSupplier},
+     * or it is found by reflection to implement {@link StreamSupplier} of stream suppliers.
+     *
+     * @param streamSupplier the stream supplier to check
+     * @return true if the given stream supplier streams other stream suppliers
+     */
+    protected boolean isMetaStreamSupplier(final S streamSupplier) {
+        return META_STREAM_SUPPLIER_CLASSES.get(streamSupplier.getClass());
     }
 
     /**
@@ -134,6 +464,10 @@ public class FlatStreamingSpliterator<S extends StreamSupplier<?>> extends Abstr
 
     /**
      * Get stream from supplier.
+     * <p>
+     * The call is bounded by the {@link StreamingStrategy#getCallTimeout() call timeout}
+     * and {@link StreamingStrategy#isHedgedCalls() hedged}, if the streaming strategy asks for it.
+     * A failed call is retried after a {@link StreamingStrategy#getRetryDelay(int) jittered backoff}.
      *
      * @param streamSupplier the stream supplier
      * @param retryCount     the current retry count
@@ -141,7 +475,7 @@ public class FlatStreamingSpliterator<S extends StreamSupplier<?>> extends Abstr
      */
     protected Stream<? extends S> getStream(StreamSupplier<S> streamSupplier, int retryCount) {
         try {
-            return streamSupplierHandler.apply(streamSupplier);
+            return callStream(streamSupplier);
         } catch (SkipPipelineConsumeException skipPipelineConsumeException) {
             throw skipPipelineConsumeException;
         } catch (Exception ex) {
@@ -149,20 +483,46 @@ public class FlatStreamingSpliterator<S extends StreamSupplier<?>> extends Abstr
                 retryCount < streamingStrategy.getRetryMaxAttempts() &&
                 streamingStrategy.shouldRetryOnFail(ex)) {
 
-                return getStream(streamSupplier, ++retryCount);
+                backoff(streamingStrategy.getRetryDelay(++retryCount));
+                return getStream(streamSupplier, retryCount);
             } else {
                 throw ex;
             }
         }
     }
 
+    private Stream<S> callStream(final StreamSupplier<S> streamSupplier) {
+        Duration timeout = streamingStrategy != null ? streamingStrategy.getCallTimeout() : null;
+        double hedgePercentile = streamingStrategy != null && streamingStrategy.isHedgedCalls() ?
+            streamingStrategy.getHedgePercentile() :
+            0;
+        if (timeout == null && hedgePercentile <= 0) {
+            return streamSupplierHandler.apply(streamSupplier);
+        }
+        return expansionExecutor.call(() -> streamSupplierHandler.apply(streamSupplier), timeout, hedgePercentile);
+    }
+
+    private void backoff(final Duration delay) {
+        if (delay.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to retry a stream supplier", ex);
+        }
+    }
+
     /**
      * Sets a stream supplier as streamed.
      *
      * @param streamer the stream supplier to set as streamed
      */
     protected void setStreamed(final S streamer) {
-        streamedAlready.add(streamer);
+        if (streamedAlready != null) {
+            streamedAlready.add(streamer);
+        }
     }
 
     /**
@@ -172,19 +532,179 @@ public class FlatStreamingSpliterator<S extends StreamSupplier<?>> extends Abstr
      * @return true if the given stream supplier is already streamed, false otherwise
      */
     protected boolean isStreamed(final S streamer) {
-        return streamedAlready.contains(streamer);
+        return streamedAlready != null && streamedAlready.contains(streamer);
     }
 
     /**
-     * Push a stream of stream suppliers to the queue.
+     * Push a stream of stream suppliers to the queue, as roots of new subtrees.
      *
      * @param stream the stream of stream suppliers
      */
     protected void pushInQueue(Stream<? extends S> stream) {
-        if (streamersQueue instanceof Deque<S> deque) {
-            reverseStream(stream).forEach(deque::push);
+        pushInQueue(null, stream);
+    }
+
+    private void pushInQueue(final FlatStreamingNode<S> parent, final Stream<? extends S> stream) {
+        if (flatStreamingStrategy.isDepthFirst()) {
+            streamersQueue.push(new FlatStreamingNode<>(parent, stream));
         } else {
-            stream.forEach(streamersQueue::add);
+            try (stream) {
+                stream
+                    .map(streamer -> new FlatStreamingNode<S>(streamer, parent))
+                    .forEach(streamersQueue::add);
+            }
+        }
+    }
+
+    /**
+     * Pull the next children of an expanded stream supplier in front of the queue.
+     * <p>
+     * The children are pulled one by one, or by the number of prefetched expansions,
+     * so they can be expanded in background.
+     *
+     * @param children the node of the pending children, at the head of the queue
+     */
+    private void pullChildren(final FlatStreamingNode<S> children) {
+        streamersQueue.poll();
+        List<FlatStreamingNode<S>> nodes =
+            pullChildren(children, Math.max(1, traversalStrategy.getPrefetchExpansions()));
+        if (nodes.isEmpty()) {
+            children.closeChildren();
+            return;
+        }
+        streamersQueue.push(children);
+        for (int index = nodes.size() - 1; index >= 0; index--) {
+            streamersQueue.push(nodes.get(index));
+        }
+    }
+
+    private List<FlatStreamingNode<S>> pullChildren(final FlatStreamingNode<S> children, final int count) {
+        try {
+            return children.pullChildren(count);
+        } catch (SkipPipelineConsumeException skipPipelineConsumeException) {
+            LOG.info("Stream flatting step skipped while streaming from: {}",
+                children.getParent() != null ? children.getParent().getStreamSupplier() : null);
+            return List.of();
+        } catch (RuntimeException | Error ex) {
+            children.closeChildren();
+            throw ex;
+        }
+    }
+
+    /**
+     * Save the state of the traversal to the checkpoint file, if the checkpoint interval elapsed.
+     */
+    private void checkpointIfDue() {
+        if (checkpoint == null) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        if (now - lastCheckpointTime >= traversalStrategy.getCheckpointInterval().toNanos()) {
+            checkpoint.save(streamersQueue, getCheckpointedVisited());
+            lastCheckpointTime = now;
+        }
+    }
+
+    private Set<S> getCheckpointedVisited() {
+        return traversalStrategy.getVisitedPolicy() == VisitedPolicy.EQUALITY ? streamedAlready : null;
+    }
+
+    private Stream<? extends S> resumeChildren(final S streamSupplier) {
+        try {
+            return streamChildren(streamSupplier);
+        } catch (SkipPipelineConsumeException skipPipelineConsumeException) {
+            LOG.info("Stream flatting step skipped while streaming from: {}", streamSupplier);
+            return Stream.empty();
+        }
+    }
+
+    private static TraversalStrategy traversalStrategy(final StreamingStrategy streamingStrategy) {
+        return streamingStrategy instanceof TraversalStrategy traversalStrategy ?
+            traversalStrategy :
+            DEFAULT_TRAVERSAL;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <S extends StreamSupplier<?>> Deque<FlatStreamingNode<S>> createQueue(
+        final FlatStreamingStrategy flatStreamingStrategy,
+        final TraversalStrategy traversalStrategy) {
+
+        StreamSupplierSerializer<?> serializer = traversalStrategy.getStreamSupplierSerializer();
+        int memoryThreshold = traversalStrategy.getFrontierMemoryThreshold();
+        return flatStreamingStrategy.isDepthFirst() || serializer == null || memoryThreshold == UNLIMITED_FRONTIER ?
+            new ArrayDeque<>() :
+            new SpillingFrontier<>((StreamSupplierSerializer<S>) serializer, memoryThreshold,
+                traversalStrategy.getVisitedPolicy() == VisitedPolicy.ANCESTORS);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <S extends StreamSupplier<?>> FlatStreamingCheckpoint<S> createCheckpoint(
+        final TraversalStrategy traversalStrategy) {
+
+        if (traversalStrategy.getCheckpointFile() == null) {
+            return null;
+        }
+        if (traversalStrategy.getStreamSupplierSerializer() == null) {
+            throw new IllegalArgumentException("A stream supplier serializer is required for checkpointing");
+        }
+        return new FlatStreamingCheckpoint<>(
+            traversalStrategy.getCheckpointFile(),
+            (StreamSupplierSerializer<S>) traversalStrategy.getStreamSupplierSerializer());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <S extends StreamSupplier<?>> FingerprintIndex<S> createFingerprintIndex(
+        final TraversalStrategy traversalStrategy) {
+
+        if (traversalStrategy.getFingerprintIndexFile() == null) {
+            return null;
+        }
+        if (traversalStrategy.getStreamSupplierSerializer() == null) {
+            throw new IllegalArgumentException("A stream supplier serializer is required for the fingerprint index");
+        }
+        return new FingerprintIndex<>(
+            traversalStrategy.getFingerprintIndexFile(),
+            (StreamSupplierSerializer<S>) traversalStrategy.getStreamSupplierSerializer());
+    }
+
+    private static <S> Set<S> createVisitedSet(final VisitedPolicy visitedPolicy) {
+        return switch (visitedPolicy) {
+            case EQUALITY -> ConcurrentHashMap.newKeySet();
+            case IDENTITY -> Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+            case ANCESTORS, NONE -> null;
+        };
+    }
+
+    /**
+     * Cancel the expansions requested in background, release the background threads
+     * and save the fingerprint index, if any.
+     */
+    @Override
+    public void close() {
+        closeQueue();
+        // the flat stream registers only the close of the spliterator all others were split from
+        FlatStreamingSpliterator<S> splitSpliterator;
+        while ((splitSpliterator = splitSpliterators.poll()) != null) {
+            splitSpliterator.closeQueue();
+        }
+        expansionExecutor.close();
+        if (fingerprintIndex != null) {
+            // the traversal is known to be complete only if it was neither resumed nor split
+            if (exhausted && !split && !resumed) {
+                fingerprintIndex.markComplete();
+            }
+            fingerprintIndex.close();
+        }
+    }
+
+    private void closeQueue() {
+        streamersQueue.forEach(node -> {
+            cancelExpansion(node);
+            node.closeChildren();
+        });
+        if (streamersQueue instanceof SpillingFrontier<S> spillingFrontier) {
+            spillingFrontier.close();
         }
     }
 }
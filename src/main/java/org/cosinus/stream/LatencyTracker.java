@@ -0,0 +1,65 @@
+/*
+ * Copyright 2025 Cosinus Software
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.cosinus.stream;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Tracker of the latencies of the recent calls, giving a percentile of them.
+ * <p>
+ * Only the latest latencies are kept, so the percentile follows the current state of the called backend.
+ */
+final class LatencyTracker {
+
+    private static final int WINDOW_SIZE = 128;
+
+    private static final int MIN_SAMPLES = 16;
+
+    private final long[] latencies = new long[WINDOW_SIZE];
+
+    private long count;
+
+    /**
+     * Record the latency of a call.
+     *
+     * @param latencyNanos the latency, in nanoseconds
+     */
+    synchronized void record(final long latencyNanos) {
+        latencies[(int) (count++ % WINDOW_SIZE)] = latencyNanos;
+    }
+
+    /**
+     * Gets a percentile of the recent latencies.
+     *
+     * @param percentile the percentile, between 0 and 1
+     * @return the latency at the given percentile, or null if not enough latencies were recorded yet
+     */
+    Duration getPercentile(final double percentile) {
+        long[] sortedLatencies;
+        synchronized (this) {
+            if (count < MIN_SAMPLES) {
+                return null;
+            }
+            sortedLatencies = Arrays.copyOf(latencies, (int) Math.min(count, WINDOW_SIZE));
+        }
+        Arrays.sort(sortedLatencies);
+        int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+        return Duration.ofNanos(sortedLatencies[Math.max(0, Math.min(index, sortedLatencies.length - 1))]);
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2025 Cosinus Software
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.cosinus.stream;
+
+/**
+ * Stream supplier of other stream suppliers, expanded as a subtree by a flat stream.
+ * <p>
+ * Implementing this interface marks explicitly a stream supplier to be expanded,
+ * without having its class hierarchy analyzed by reflection.
+ *
+ * @param <T> the type of the streamed stream suppliers
+ */
+@FunctionalInterface
+public interface MetaStreamSupplier<T extends StreamSupplier<?>> extends StreamSupplier<T> {
+
+    /**
+     * Ask if this stream supplier is known to stream no stream supplier.
+     * <p>
+     * A leaf is streamed by a flat stream without being expanded,
+     * so it is neither asked for its stream nor tracked as visited.
+     *
+     * @return true if this stream supplier is a leaf
+     */
+    default boolean isLeaf() {
+        return false;
+    }
+}
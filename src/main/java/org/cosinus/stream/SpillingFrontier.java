@@ -0,0 +1,261 @@
+/*
+ * Copyright 2025 Cosinus Software
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.cosinus.stream;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serial;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.Consumer;
+
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * The breadth first queue of a {@link FlatStreamingSpliterator}, spilling its tail to a temporary file
+ * once the number of nodes kept in memory reaches a threshold.
+ * <p>
+ * The nodes are added at the tail and polled from the head, so the spilled nodes are written and read back
+ * in the same order. Only the head of the queue is kept in memory, and the iteration covers only that part.
+ * The spilled nodes keep their depth, but not their parent, unless the ancestors are asked to be kept:
+ * the stream suppliers of all the ancestors are then spilled with every node,
+ * so the cycles can still be detected by ancestors after the nodes are read back.
+ *
+ * @param <S> the type of stream supplier
+ */
+final class SpillingFrontier<S extends StreamSupplier<?>> extends ArrayDeque<FlatStreamingNode<S>>
+    implements AutoCloseable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final transient StreamSupplierSerializer<S> serializer;
+
+    private final int memoryThreshold;
+
+    private final boolean keepAncestors;
+
+    private transient Path spillFile;
+
+    private transient DataOutputStream spillOutput;
+
+    private transient DataInputStream spillInput;
+
+    private transient CountingInputStream spillInputCounter;
+
+    private long spilledCount;
+
+    /**
+     * Instantiates a new SpillingFrontier.
+     *
+     * @param serializer      the serializer of the spilled stream suppliers
+     * @param memoryThreshold the maximum number of nodes kept in memory
+     * @param keepAncestors   true to spill the ancestors of the nodes with them
+     */
+    SpillingFrontier(final StreamSupplierSerializer<S> serializer,
+                     final int memoryThreshold,
+                     final boolean keepAncestors) {
+        this.serializer = serializer;
+        this.memoryThreshold = Math.max(1, memoryThreshold);
+        this.keepAncestors = keepAncestors;
+    }
+
+    @Override
+    public void addLast(final FlatStreamingNode<S> node) {
+        if (spilledCount > 0 || super.size() >= memoryThreshold) {
+            spill(node);
+        } else {
+            super.addLast(node);
+        }
+    }
+
+    @Override
+    public boolean offerLast(final FlatStreamingNode<S> node) {
+        addLast(node);
+        return true;
+    }
+
+    @Override
+    public FlatStreamingNode<S> pollFirst() {
+        reloadIfEmpty();
+        return super.pollFirst();
+    }
+
+    @Override
+    public FlatStreamingNode<S> peekFirst() {
+        reloadIfEmpty();
+        return super.peekFirst();
+    }
+
+    @Override
+    public int size() {
+        return (int) Math.min(Integer.MAX_VALUE, super.size() + spilledCount);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return super.isEmpty() && spilledCount == 0;
+    }
+
+    private void spill(final FlatStreamingNode<S> node) {
+        try {
+            if (spillOutput == null) {
+                openSpillFile();
+            }
+            spillOutput.writeInt(node.getDepth());
+            if (keepAncestors) {
+                writeAncestors(node.getParent());
+            }
+            serializer.write(node.getStreamSupplier(), spillOutput);
+            spilledCount++;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot spill the flat stream frontier to " + spillFile, ex);
+        }
+    }
+
+    private void writeAncestors(final FlatStreamingNode<S> parent) throws IOException {
+        Deque<S> ancestors = new ArrayDeque<>();
+        for (FlatStreamingNode<S> ancestor = parent; ancestor != null; ancestor = ancestor.getParent()) {
+            ancestors.push(ancestor.getStreamSupplier());
+        }
+        spillOutput.writeInt(ancestors.size());
+        for (S ancestor : ancestors) {
+            serializer.write(ancestor, spillOutput);
+        }
+    }
+
+    private FlatStreamingNode<S> readNode(final DataInputStream input) throws IOException {
+        int depth = input.readInt();
+        if (!keepAncestors) {
+            return new FlatStreamingNode<>(serializer.read(input), depth);
+        }
+
+        FlatStreamingNode<S> parent = null;
+        int ancestorCount = input.readInt();
+        for (int index = 0; index < ancestorCount; index++) {
+            parent = new FlatStreamingNode<>(serializer.read(input), parent);
+        }
+        S streamSupplier = serializer.read(input);
+        // a node resumed from a checkpoint has no ancestors, but keeps its depth
+        return ancestorCount == depth ?
+            new FlatStreamingNode<>(streamSupplier, parent) :
+            new FlatStreamingNode<>(streamSupplier, depth);
+    }
+
+    private void reloadIfEmpty() {
+        if (!super.isEmpty() || spilledCount == 0) {
+            return;
+        }
+
+        try {
+            spillOutput.flush();
+            long reloadCount = Math.min(spilledCount, Math.max(1, memoryThreshold / 2));
+            for (long index = 0; index < reloadCount; index++) {
+                super.addLast(readNode(spillInput));
+            }
+            spilledCount -= reloadCount;
+            if (spilledCount == 0) {
+                resetSpillFile();
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot read the flat stream frontier from " + spillFile, ex);
+        }
+    }
+
+    private void openSpillFile() throws IOException {
+        if (spillFile == null) {
+            spillFile = Files.createTempFile("flat-stream-frontier", ".tmp");
+            spillFile.toFile().deleteOnExit();
+        }
+        spillOutput = new DataOutputStream(new BufferedOutputStream(
+            Files.newOutputStream(spillFile, WRITE, TRUNCATE_EXISTING), BUFFER_SIZE));
+        spillInputCounter = new CountingInputStream(
+            new BufferedInputStream(Files.newInputStream(spillFile), BUFFER_SIZE));
+        spillInput = new DataInputStream(spillInputCounter);
+    }
+
+    /**
+     * Perform an action for each node spilled to the temporary file, in the queue order,
+     * without removing them from the queue.
+     *
+     * @param action the action to perform
+     */
+    void forEachSpilled(final Consumer<FlatStreamingNode<S>> action) {
+        if (spilledCount == 0) {
+            return;
+        }
+
+        try {
+            spillOutput.flush();
+            try (InputStream fileInput = Files.newInputStream(spillFile);
+                 DataInputStream input = new DataInputStream(new BufferedInputStream(fileInput, BUFFER_SIZE))) {
+                input.skipNBytes(spillInputCounter.getCount());
+                for (long index = 0; index < spilledCount; index++) {
+                    action.accept(readNode(input));
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot read the flat stream frontier from " + spillFile, ex);
+        }
+    }
+
+    private void resetSpillFile() throws IOException {
+        DataOutputStream output = spillOutput;
+        DataInputStream input = spillInput;
+        spillOutput = null;
+        spillInput = null;
+        spillInputCounter = null;
+        try {
+            if (output != null) {
+                output.close();
+            }
+        } finally {
+            if (input != null) {
+                input.close();
+            }
+        }
+    }
+
+    /**
+     * Close and delete the spill file.
+     */
+    @Override
+    public void close() {
+        try {
+            resetSpillFile();
+            if (spillFile != null) {
+                Files.deleteIfExists(spillFile);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot delete the flat stream frontier file " + spillFile, ex);
+        } finally {
+            super.clear();
+            spilledCount = 0;
+        }
+    }
+}
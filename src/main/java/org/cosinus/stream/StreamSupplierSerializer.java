@@ -0,0 +1,48 @@
+/*
+ * Copyright 2025 Cosinus Software
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.cosinus.stream;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Serializer of stream suppliers, used by a flat stream to keep pending stream suppliers out of the memory.
+ *
+ * @param <S> the type of stream supplier
+ */
+public interface StreamSupplierSerializer<S extends StreamSupplier<?>> {
+
+    /**
+     * Write a stream supplier.
+     *
+     * @param streamSupplier the stream supplier to write
+     * @param output         the output to write to
+     * @throws IOException if writing fails
+     */
+    void write(S streamSupplier, DataOutput output) throws IOException;
+
+    /**
+     * Read a stream supplier written by {@link #write(StreamSupplier, DataOutput)}.
+     *
+     * @param input the input to read from
+     * @return the stream supplier
+     * @throws IOException if reading fails
+     */
+    S read(DataInput input) throws IOException;
+}
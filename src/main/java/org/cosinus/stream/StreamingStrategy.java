@@ -17,6 +17,9 @@
 
 package org.cosinus.stream;
 
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
 /**
  * Streaming strategy
  */
@@ -32,6 +35,21 @@ public interface StreamingStrategy {
      */
     int RETRY_MAX_ATTEMPTS = 1;
 
+    /**
+     * The default backoff before the first retry.
+     */
+    Duration DEFAULT_RETRY_BACKOFF = Duration.ofMillis(100);
+
+    /**
+     * The default maximum backoff before a retry.
+     */
+    Duration DEFAULT_MAX_RETRY_BACKOFF = Duration.ofSeconds(10);
+
+    /**
+     * The default percentile of the recent call latencies after which a hedged call is fired.
+     */
+    double DEFAULT_HEDGE_PERCENTILE = 0.95;
+
     /**
      * Should retry on pipeline failure.
      *
@@ -50,4 +68,77 @@ public interface StreamingStrategy {
     default int getRetryMaxAttempts() {
         return RETRY_MAX_ATTEMPTS;
     }
+
+    /**
+     * Get the backoff before the first retry.
+     * <p>
+     * The backoff doubles on each retry, up to {@link #getMaxRetryBackoff()}.
+     *
+     * @return the backoff before the first retry, or {@link Duration#ZERO} to retry immediately
+     */
+    default Duration getRetryBackoff() {
+        return DEFAULT_RETRY_BACKOFF;
+    }
+
+    /**
+     * Get the maximum backoff before a retry.
+     *
+     * @return the maximum backoff
+     */
+    default Duration getMaxRetryBackoff() {
+        return DEFAULT_MAX_RETRY_BACKOFF;
+    }
+
+    /**
+     * Get the delay before a retry.
+     * <p>
+     * The delay is picked at random up to the exponential backoff of the retry,
+     * so the retries of concurrent calls are spread over time instead of hitting the backend together.
+     *
+     * @param retryCount the retry count, starting at 1
+     * @return the delay before the retry
+     */
+    default Duration getRetryDelay(final int retryCount) {
+        long backoff = getRetryBackoff().toNanos();
+        if (backoff <= 0) {
+            return Duration.ZERO;
+        }
+        int shift = Math.min(Math.max(0, retryCount - 1), Long.numberOfLeadingZeros(backoff) - 1);
+        long maxDelay = Math.min(backoff << shift, getMaxRetryBackoff().toNanos());
+        return Duration.ofNanos(ThreadLocalRandom.current().nextLong(maxDelay + 1));
+    }
+
+    /**
+     * Get the deadline of a single call, like requesting the stream of a stream supplier.
+     * <p>
+     * A call not returning in time is abandoned and fails with a
+     * {@link org.cosinus.stream.error.StreamTimeoutException}, which can be retried.
+     *
+     * @return the call timeout, or null if the calls are not bounded in time
+     */
+    default Duration getCallTimeout() {
+        return null;
+    }
+
+    /**
+     * Ask if a second call is fired when a call is slower than most of the recent ones.
+     * <p>
+     * When the call does not return within the {@link #getHedgePercentile() percentile} of the recent latencies,
+     * the same call is fired again and the first result wins, the other one being closed.
+     * Useful for remote calls with a long latency tail, if the calls have no side effect.
+     *
+     * @return true if the calls are hedged
+     */
+    default boolean isHedgedCalls() {
+        return false;
+    }
+
+    /**
+     * Get the percentile of the recent call latencies after which a hedged call is fired.
+     *
+     * @return the hedge percentile, between 0 and 1
+     */
+    default double getHedgePercentile() {
+        return DEFAULT_HEDGE_PERCENTILE;
+    }
 }
@@ -16,8 +16,12 @@
 
 package org.cosinus.stream;
 
+import org.cosinus.stream.page.CursorPageSupplier;
+import org.cosinus.stream.page.CursorPagedSpliterator;
+import org.cosinus.stream.page.PageResultSupplier;
 import org.cosinus.stream.page.PageSupplier;
 import org.cosinus.stream.page.PagedSpliterator;
+import org.cosinus.stream.page.PagingStrategy;
 import org.cosinus.stream.swing.FlatSwingComponentsSpliterator;
 
 import java.awt.*;
@@ -71,6 +75,71 @@ public final class Streams {
         return StreamSupport.stream(new PagedSpliterator<>(pageSupplier), false);
     }
 
+    /**
+     * Get the pages stream using a given page supplier and paging strategy.
+     * <p>
+     * Closing the stream cancels the pages still requested in background.
+     * If the page supplier is a {@link PageResultSupplier}, its first page is fetched eagerly, when the stream
+     * is created, so the stream is sized from the start if the page returns the total count of items.
+     *
+     * @param <T>            the type of the streamed items
+     * @param pageSupplier   the page supplier
+     * @param pagingStrategy the paging strategy
+     * @return the paged stream
+     */
+    public static <T> Stream<T> pagedStream(PageSupplier<T> pageSupplier, PagingStrategy pagingStrategy) {
+        return pagedStream(pageSupplier, pagingStrategy, false);
+    }
+
+    /**
+     * Get the pages stream using a given page supplier and paging strategy.
+     * <p>
+     * A parallel paged stream fetches disjoint page ranges concurrently
+     * if the page supplier knows the {@link PageSupplier#getPageCount(int) page count}.
+     *
+     * @param <T>            the type of the streamed items
+     * @param pageSupplier   the page supplier
+     * @param pagingStrategy the paging strategy
+     * @param parallel       true if the stream is parallel
+     * @return the paged stream
+     */
+    public static <T> Stream<T> pagedStream(PageSupplier<T> pageSupplier,
+                                            PagingStrategy pagingStrategy,
+                                            boolean parallel) {
+        PagedSpliterator<T> spliterator = new PagedSpliterator<>(pageSupplier, pagingStrategy);
+        spliterator.resolveTotalCount();
+        return StreamSupport.stream(spliterator, parallel).onClose(spliterator::close);
+    }
+
+    /**
+     * Get the stream of pages fetched by cursor using a given page supplier.
+     *
+     * @param <T>          the type of the streamed items
+     * @param <C>          the type of the cursor
+     * @param pageSupplier the cursor page supplier
+     * @return the paged stream
+     */
+    public static <T, C> Stream<T> cursorPagedStream(CursorPageSupplier<T, C> pageSupplier) {
+        return cursorPagedStream(pageSupplier, PagingStrategy.DEFAULT_PAGING);
+    }
+
+    /**
+     * Get the stream of pages fetched by cursor using a given page supplier and paging strategy.
+     * <p>
+     * Closing the stream stops the pages fetching in background.
+     *
+     * @param <T>            the type of the streamed items
+     * @param <C>            the type of the cursor
+     * @param pageSupplier   the cursor page supplier
+     * @param pagingStrategy the paging strategy
+     * @return the paged stream
+     */
+    public static <T, C> Stream<T> cursorPagedStream(CursorPageSupplier<T, C> pageSupplier,
+                                                     PagingStrategy pagingStrategy) {
+        CursorPagedSpliterator<T, C> spliterator = new CursorPagedSpliterator<>(pageSupplier, pagingStrategy);
+        return StreamSupport.stream(spliterator, false).onClose(spliterator::close);
+    }
+
     /**
      * Reverse a stream.
      *
@@ -97,8 +166,29 @@ public final class Streams {
     public static <T extends StreamSupplier<?>> Stream<T> flatStream(final FlatStreamingStrategy flatStreamingStrategy,
                                                                      final StreamingStrategy streamingStrategy,
                                                                      final Stream<T> streams) {
-        return StreamSupport.stream(
-            new FlatStreamingSpliterator<>(flatStreamingStrategy, streamingStrategy, streams), false);
+        return flatStream(flatStreamingStrategy, streamingStrategy, streams, false);
+    }
+
+    /**
+     * Get the flat stream of a tree of stream suppliers.
+     * <p>
+     * A parallel flat stream expands the pending subtrees on several threads.
+     * The streaming strategy can be a {@link TraversalStrategy} to allow an unordered traversal.
+     *
+     * @param <T>                   the type of the stream suppliers
+     * @param flatStreamingStrategy the flat streaming strategy
+     * @param streamingStrategy     the streaming strategy
+     * @param streams               the root stream suppliers
+     * @param parallel              true if the stream is parallel
+     * @return the flat stream
+     */
+    public static <T extends StreamSupplier<?>> Stream<T> flatStream(final FlatStreamingStrategy flatStreamingStrategy,
+                                                                     final StreamingStrategy streamingStrategy,
+                                                                     final Stream<T> streams,
+                                                                     final boolean parallel) {
+        FlatStreamingSpliterator<T> spliterator =
+            new FlatStreamingSpliterator<>(flatStreamingStrategy, streamingStrategy, streams);
+        return StreamSupport.stream(spliterator, parallel).onClose(spliterator::close);
     }
 
     public static Stream<Component> flatComponentsStream(Container container) {
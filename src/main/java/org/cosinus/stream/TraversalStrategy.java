@@ -0,0 +1,189 @@
+/*
+ * Copyright 2025 Cosinus Software
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.cosinus.stream;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * The strategy of traversing a tree of stream suppliers in a flat stream.
+ */
+public interface TraversalStrategy extends StreamingStrategy {
+
+    /**
+     * The default traversal strategy constant
+     */
+    TraversalStrategy DEFAULT_TRAVERSAL = new TraversalStrategy() {};
+
+    /**
+     * The maximum depth value when the traversal depth is not limited.
+     */
+    int UNLIMITED_DEPTH = Integer.MAX_VALUE;
+
+    /**
+     * The frontier memory threshold value when the pending stream suppliers are all kept in memory.
+     */
+    int UNLIMITED_FRONTIER = Integer.MAX_VALUE;
+
+    /**
+     * The default interval between two checkpoints of the traversal.
+     */
+    Duration DEFAULT_CHECKPOINT_INTERVAL = Duration.ofMinutes(1);
+
+    /**
+     * Ask if the flat stream keeps the encounter order of its {@link FlatStreamingStrategy}.
+     * <p>
+     * A parallel flat stream can be split over the pending subtrees while keeping the order
+     * only for the depth first strategies.
+     * An unordered flat stream can be split for all the strategies, for a better parallel throughput.
+     *
+     * @return true if the flat stream is ordered
+     */
+    default boolean isOrdered() {
+        return true;
+    }
+
+    /**
+     * Gets the number of pending stream suppliers to expand in background, ahead of the traversal.
+     * <p>
+     * Useful when expanding a stream supplier is slow, like a remote listing.
+     * The children of the next pending stream suppliers are requested on virtual threads and kept in memory
+     * until the traversal reaches them, so the traversal order is not changed.
+     *
+     * @return the number of stream suppliers to expand in background, or 0 to expand them only when reached
+     */
+    default int getPrefetchExpansions() {
+        return 0;
+    }
+
+    /**
+     * Gets the policy of tracking the expanded stream suppliers.
+     *
+     * @return the visited policy
+     */
+    default VisitedPolicy getVisitedPolicy() {
+        return VisitedPolicy.EQUALITY;
+    }
+
+    /**
+     * Gets the maximum depth of the traversal.
+     * <p>
+     * The root stream suppliers are at depth 0.
+     * The stream suppliers at the maximum depth are streamed, but they are not expanded.
+     *
+     * @return the maximum depth, or {@link #UNLIMITED_DEPTH}
+     */
+    default int getMaxDepth() {
+        return UNLIMITED_DEPTH;
+    }
+
+    /**
+     * Ask if a stream supplier should be expanded, before its children are requested.
+     * <p>
+     * A stream supplier not expanded is still streamed, but its subtree is pruned.
+     *
+     * @param streamSupplier the stream supplier
+     * @param depth          the depth of the stream supplier, 0 for a root
+     * @return true if the stream supplier should be expanded
+     */
+    default boolean shouldExpand(final StreamSupplier<?> streamSupplier, final int depth) {
+        return true;
+    }
+
+    /**
+     * Gets the maximum number of pending stream suppliers kept in memory by a breadth first traversal.
+     * <p>
+     * Beyond this threshold, the pending stream suppliers are spilled to a temporary file,
+     * if a {@link #getStreamSupplierSerializer() serializer} is given.
+     *
+     * @return the frontier memory threshold, or {@link #UNLIMITED_FRONTIER}
+     */
+    default int getFrontierMemoryThreshold() {
+        return UNLIMITED_FRONTIER;
+    }
+
+    /**
+     * Gets the serializer of the stream suppliers, for spilling the pending stream suppliers to a temporary file.
+     * <p>
+     * The serializer has to handle the type of stream suppliers streamed by the flat stream.
+     *
+     * @return the stream supplier serializer, or null if the stream suppliers cannot be serialized
+     */
+    default StreamSupplierSerializer<?> getStreamSupplierSerializer() {
+        return null;
+    }
+
+    /**
+     * Gets the file keeping a checkpoint of the traversal, so an interrupted traversal can be resumed.
+     * <p>
+     * The pending stream suppliers and the stream suppliers already expanded are saved periodically
+     * in this file, using the {@link #getStreamSupplierSerializer() serializer}, which is then required.
+     * If the file exists when the flat stream is created and {@link #isResumeFromCheckpoint() resuming} is asked,
+     * the traversal resumes from it and the given root stream suppliers are ignored.
+     * Otherwise, an existing file is discarded and the traversal starts from the given root stream suppliers.
+     * The file is deleted when the traversal is complete.
+     * <p>
+     * The stream suppliers streamed after the last checkpoint are streamed again on resume,
+     * and an expanded stream supplier with pending children is asked once again for its stream.
+     * Only the stream suppliers tracked by {@link VisitedPolicy#EQUALITY} are saved.
+     * A checkpointed flat stream is not split over its pending subtrees.
+     *
+     * @return the checkpoint file, or null if the traversal is not checkpointed
+     */
+    default Path getCheckpointFile() {
+        return null;
+    }
+
+    /**
+     * Ask if a new flat stream resumes the traversal from an existing {@link #getCheckpointFile() checkpoint file}.
+     * <p>
+     * The checkpoint left by a traversal closed before its end is resumed only when explicitly asked,
+     * so an unrelated traversal using the same file starts from its own root stream suppliers.
+     *
+     * @return true to resume from an existing checkpoint
+     */
+    default boolean isResumeFromCheckpoint() {
+        return false;
+    }
+
+    /**
+     * Gets the minimum interval between two checkpoints of the traversal.
+     *
+     * @return the checkpoint interval
+     */
+    default Duration getCheckpointInterval() {
+        return DEFAULT_CHECKPOINT_INTERVAL;
+    }
+
+    /**
+     * Gets the file keeping the index of the children of the
+     * {@link VersionedStreamSupplier versioned stream suppliers}, for an incremental traversal.
+     * <p>
+     * The children of a versioned stream supplier are saved in this index with its version,
+     * using the {@link #getStreamSupplierSerializer() serializer}, which is then required.
+     * The next traversal reuses them as long as the version is unchanged, instead of streaming them again.
+     * The children of the indexed stream suppliers are streamed all at once, not lazily.
+     * The index is saved when the flat stream is closed, keeping the previous entries not reached
+     * if the traversal is closed before its end.
+     *
+     * @return the fingerprint index file, or null if the traversal is not incremental
+     */
+    default Path getFingerprintIndexFile() {
+        return null;
+    }
+}
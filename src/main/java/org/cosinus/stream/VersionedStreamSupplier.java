@@ -0,0 +1,46 @@
+/*
+ * Copyright 2025 Cosinus Software
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.cosinus.stream;
+
+/**
+ * Stream supplier exposing a cheap version of its stream, like a modification time or an ETag.
+ * <p>
+ * In an incremental flat stream, the children of a stream supplier are saved in a
+ * {@link TraversalStrategy#getFingerprintIndexFile() fingerprint index} along with its version,
+ * and reused by the next traversal as long as the version is unchanged, instead of streaming them again.
+ *
+ * @param <T> the type of the streamed elements
+ */
+public interface VersionedStreamSupplier<T> extends StreamSupplier<T> {
+
+    /**
+     * Gets the key identifying this stream supplier from one traversal to another, like a path or an URL.
+     *
+     * @return the stream key
+     */
+    String getStreamKey();
+
+    /**
+     * Gets the current version of the stream, which changes whenever the streamed elements change.
+     * <p>
+     * This should be much cheaper than streaming the elements.
+     *
+     * @return the stream version, or null if unknown, in which case the elements are always streamed
+     */
+    String getStreamVersion();
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2025 Cosinus Software
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.cosinus.stream;
+
+/**
+ * The policies of tracking the expanded stream suppliers in a flat stream,
+ * to avoid expanding the same stream supplier twice, like in a graph with cycles.
+ */
+public enum VisitedPolicy {
+    /**
+     * A stream supplier equal to an expanded one is not expanded.
+     * All the expanded stream suppliers are kept until the end of the traversal.
+     */
+    EQUALITY,
+
+    /**
+     * The same stream supplier instance is not expanded twice.
+     * All the expanded stream suppliers are kept until the end of the traversal,
+     * but their {@code equals} and {@code hashCode} are not used.
+     */
+    IDENTITY,
+
+    /**
+     * A stream supplier equal to one of its ancestors is not expanded, which breaks the cycles.
+     * Only the ancestors of the pending stream suppliers are kept, so the memory follows the traversal frontier.
+     */
+    ANCESTORS,
+
+    /**
+     * The expanded stream suppliers are not tracked, for the trees known to have no cycles.
+     */
+    NONE
+}
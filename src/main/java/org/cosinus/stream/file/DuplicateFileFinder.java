@@ -0,0 +1,227 @@
+/*
+ * Copyright 2025 Cosinus Software
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.cosinus.stream.file;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.cosinus.stream.Streams;
+import org.cosinus.stream.binary.BinaryStream;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
+import static org.cosinus.stream.FlatStreamingStrategy.IN_DEPTH;
+
+/**
+ * Finder of the files with the same content in file trees.
+ * <p>
+ * The candidates are eliminated in stages, each one more expensive than the previous one:
+ * <ol>
+ *     <li>the files are grouped by size, from the attributes read while walking the file trees;</li>
+ *     <li>the files of the same size are grouped by a digest of their first and last bytes;</li>
+ *     <li>the remaining candidates are grouped by a digest of their full content, computed in parallel.</li>
+ * </ol>
+ * A file not larger than two samples is fully read by the second stage, so it skips the last one.
+ * The files which cannot be read are left out.
+ */
+public class DuplicateFileFinder {
+
+    private static final Logger LOG = LogManager.getLogger(DuplicateFileFinder.class);
+
+    /**
+     * The default size of the samples read at the beginning and at the end of the files.
+     */
+    public static final int DEFAULT_SAMPLE_SIZE = 4 * 1024;
+
+    /**
+     * The default digest algorithm.
+     */
+    public static final String DEFAULT_DIGEST_ALGORITHM = "SHA-256";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final int sampleSize;
+
+    private final String digestAlgorithm;
+
+    /**
+     * Instantiates a new DuplicateFileFinder with the default sample size and digest algorithm.
+     */
+    public DuplicateFileFinder() {
+        this(DEFAULT_SAMPLE_SIZE, DEFAULT_DIGEST_ALGORITHM);
+    }
+
+    /**
+     * Instantiates a new DuplicateFileFinder.
+     *
+     * @param sampleSize      the size of the samples read at the beginning and at the end of the files
+     * @param digestAlgorithm the name of the {@link MessageDigest} algorithm
+     */
+    public DuplicateFileFinder(final int sampleSize, final String digestAlgorithm) {
+        if (sampleSize <= 0) {
+            throw new IllegalArgumentException("Invalid sample size: " + sampleSize);
+        }
+        this.sampleSize = sampleSize;
+        this.digestAlgorithm = digestAlgorithm;
+        newDigest();
+    }
+
+    /**
+     * Find the duplicate files in file trees.
+     *
+     * @param roots the roots of the file trees
+     * @return the groups of paths of files with the same content, each one sorted
+     */
+    public List<List<Path>> findDuplicates(final Path... roots) {
+        return findDuplicates(Stream.of(roots).map(FileStreamSupplier::new));
+    }
+
+    /**
+     * Find the duplicate files in file trees.
+     *
+     * @param roots the roots of the file trees
+     * @return the groups of paths of files with the same content, each one sorted
+     */
+    public List<List<Path>> findDuplicates(final Stream<FileStreamSupplier> roots) {
+        Collection<List<FileStreamSupplier>> sameSizeFiles;
+        try (Stream<FileStreamSupplier> files = Streams.flatStream(IN_DEPTH, roots)) {
+            sameSizeFiles = files
+                .filter(file -> file.getAttributes().isRegularFile())
+                .distinct()
+                .collect(groupingBy(FileStreamSupplier::getSize, LinkedHashMap::new, toList()))
+                .values();
+        }
+
+        List<List<FileStreamSupplier>> duplicates = new ArrayList<>();
+        List<FileStreamSupplier> fullDigestCandidates = new ArrayList<>();
+        sameSizeFiles.stream()
+            .filter(files -> files.size() > 1)
+            .flatMap(files -> groupByDigest(files.stream(), this::sampleDigest))
+            .forEach(files -> {
+                if (files.get(0).getSize() <= 2L * sampleSize) {
+                    duplicates.add(files);
+                } else {
+                    fullDigestCandidates.addAll(files);
+                }
+            });
+
+        // the full digests are the expensive stage, computed in parallel
+        groupByDigest(fullDigestCandidates.parallelStream(), this::fullDigest)
+            .forEach(duplicates::add);
+
+        return duplicates.stream()
+            .map(files -> files.stream().map(FileStreamSupplier::getPath).sorted().toList())
+            .sorted(Comparator.comparing(paths -> paths.get(0)))
+            .toList();
+    }
+
+    private Stream<List<FileStreamSupplier>> groupByDigest(final Stream<FileStreamSupplier> files,
+                                                           final Function<FileStreamSupplier, String> digest) {
+        return files
+            .map(file -> new DigestedFile(file, digest.apply(file)))
+            .filter(digestedFile -> digestedFile.digest() != null)
+            .collect(groupingBy(DigestedFile::digest, LinkedHashMap::new, toList()))
+            .values()
+            .stream()
+            .filter(digestedFiles -> digestedFiles.size() > 1)
+            .map(digestedFiles -> digestedFiles.stream().map(DigestedFile::file).toList());
+    }
+
+    /**
+     * Compute the digest of the first and the last bytes of a file, with its size.
+     * <p>
+     * The bytes between the two samples are skipped, not read.
+     *
+     * @param file the file
+     * @return the sample digest, or null if the file cannot be read
+     */
+    private String sampleDigest(final FileStreamSupplier file) {
+        long size = file.getSize();
+        long tailStart = size - sampleSize;
+        MessageDigest digest = newDigest();
+        try (BinaryStream binaryStream = BinaryStream.of(Files.newInputStream(file.getPath()), sampleSize)) {
+            Iterator<byte[]> chunks = binaryStream.iterator();
+            long offset = 0;
+            while (chunks.hasNext()) {
+                byte[] chunk = chunks.next();
+                int headLength = (int) Math.max(0, Math.min(chunk.length, sampleSize - offset));
+                digest.update(chunk, 0, headLength);
+                int tailOffset = (int) Math.max(headLength, Math.min(chunk.length, tailStart - offset));
+                digest.update(chunk, tailOffset, chunk.length - tailOffset);
+                offset += chunk.length;
+                if (offset >= sampleSize && offset < tailStart) {
+                    offset += binaryStream.skipBytes(tailStart - offset);
+                }
+            }
+            return size + ":" + HexFormat.of().formatHex(digest.digest());
+        } catch (IOException | UncheckedIOException ex) {
+            LOG.warn("Cannot read the file {}: {}", file.getPath(), ex.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Compute the digest of the full content of a file, with its size.
+     *
+     * @param file the file
+     * @return the full digest, or null if the file cannot be read
+     */
+    private String fullDigest(final FileStreamSupplier file) {
+        MessageDigest digest = newDigest();
+        try (BinaryStream binaryStream = BinaryStream.of(Files.newInputStream(file.getPath()), BUFFER_SIZE)) {
+            binaryStream.forEach(digest::update);
+            return file.getSize() + ":" + HexFormat.of().formatHex(digest.digest());
+        } catch (IOException | UncheckedIOException ex) {
+            LOG.warn("Cannot read the file {}: {}", file.getPath(), ex.getMessage());
+            return null;
+        }
+    }
+
+    private MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(digestAlgorithm);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalArgumentException("Unsupported digest algorithm: " + digestAlgorithm, ex);
+        }
+    }
+
+    /**
+     * A file with the digest of its content.
+     *
+     * @param file   the file
+     * @param digest the digest, or null if the file cannot be read
+     */
+    private record DigestedFile(FileStreamSupplier file, String digest) {
+    }
+}
@@ -0,0 +1,274 @@
+/*
+ * Copyright 2025 Cosinus Software
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.cosinus.stream.file;
+
+import org.cosinus.stream.MetaStreamSupplier;
+import org.cosinus.stream.StreamSupplierSerializer;
+import org.cosinus.stream.VersionedStreamSupplier;
+import org.cosinus.stream.error.SkipPipelineConsumeException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.SecureDirectoryStream;
+import java.nio.file.attribute.BasicFileAttributeView;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static java.nio.file.LinkOption.NOFOLLOW_LINKS;
+
+/**
+ * Stream supplier of a file tree, to be flattened by {@link org.cosinus.stream.Streams#flatStream}.
+ * <p>
+ * A directory streams its entries, sorted by name, and any other file is a leaf, never expanded,
+ * so only the directories are tracked as visited by the flat stream.
+ * The basic attributes of every entry are read once while listing its directory, and carried with the entry.
+ * When the directory stream is a {@link SecureDirectoryStream}, the attributes are read relatively
+ * to the open directory, without resolving the full path of every entry again.
+ * The directory is listed at once and closed before its entries are streamed,
+ * so no directory handle is kept open during the traversal.
+ * This also makes the sorting cheap, but the first entry of a directory is streamed
+ * only once the whole directory is listed, and a directory with many entries is held in memory while streamed.
+ * <p>
+ * The symbolic links are not followed. An entry which is neither a directory nor a matching file is skipped,
+ * so the file glob filters the files while all the directories are traversed.
+ * A directory which cannot be read or which disappeared is skipped,
+ * and so is an entry which disappeared or whose attributes cannot be read while listing its directory.
+ * <p>
+ * The version of a directory stream is its modification time, which changes when entries are added or removed.
+ * A file tree traversed with a {@link org.cosinus.stream.TraversalStrategy#getFingerprintIndexFile()
+ * fingerprint index} lists again only the changed directories, using the {@link #serializer() serializer}.
+ */
+public class FileStreamSupplier implements MetaStreamSupplier<FileStreamSupplier>,
+    VersionedStreamSupplier<FileStreamSupplier> {
+
+    private static final Comparator<FileStreamSupplier> FILE_NAME_ORDER =
+        Comparator.comparing(file -> file.path.getFileName().toString());
+
+    private final Path path;
+
+    private final PathMatcher fileMatcher;
+
+    private BasicFileAttributes attributes;
+
+    /**
+     * Instantiates a new FileStreamSupplier streaming all the files.
+     *
+     * @param path the path of the file tree root
+     */
+    public FileStreamSupplier(final Path path) {
+        this(path, (String) null);
+    }
+
+    /**
+     * Instantiates a new FileStreamSupplier streaming the files with a name matching a glob.
+     *
+     * @param path     the path of the file tree root
+     * @param fileGlob the glob to match the file names against, like {@code *.{jpg,png}},
+     *                 or null to match all the files
+     */
+    public FileStreamSupplier(final Path path, final String fileGlob) {
+        this(path, fileGlob != null ? path.getFileSystem().getPathMatcher("glob:" + fileGlob) : null);
+    }
+
+    /**
+     * Instantiates a new FileStreamSupplier, reading its attributes only when needed.
+     *
+     * @param path        the path of the file
+     * @param fileMatcher the matcher of the file names, or null to match all the files
+     */
+    FileStreamSupplier(final Path path, final PathMatcher fileMatcher) {
+        this(path, fileMatcher, null);
+    }
+
+    /**
+     * Instantiates a new FileStreamSupplier.
+     *
+     * @param path        the path of the file
+     * @param fileMatcher the matcher of the file names, or null to match all the files
+     * @param attributes  the attributes of the file, or null to read them when needed
+     */
+    FileStreamSupplier(final Path path, final PathMatcher fileMatcher, final BasicFileAttributes attributes) {
+        this.path = path;
+        this.fileMatcher = fileMatcher;
+        this.attributes = attributes;
+    }
+
+    /**
+     * Gets the path of the file.
+     *
+     * @return the path
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Gets the basic attributes of the file, as read while listing its directory.
+     *
+     * @return the basic file attributes
+     * @throws UncheckedIOException if the attributes were not read yet and they cannot be read
+     */
+    public BasicFileAttributes getAttributes() {
+        if (attributes == null) {
+            try {
+                attributes = Files.readAttributes(path, BasicFileAttributes.class, NOFOLLOW_LINKS);
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Cannot read the attributes of " + path, ex);
+            }
+        }
+        return attributes;
+    }
+
+    /**
+     * Check if the file is a directory.
+     *
+     * @return true if the file is a directory
+     */
+    public boolean isDirectory() {
+        return getAttributes().isDirectory();
+    }
+
+    /**
+     * Gets the size of the file.
+     *
+     * @return the file size, in bytes
+     */
+    public long getSize() {
+        return getAttributes().size();
+    }
+
+    /**
+     * Check if the file is a leaf, which is any file but a directory.
+     * <p>
+     * If the attributes cannot be read, the file is not reported as a leaf,
+     * so it is skipped when streamed.
+     *
+     * @return true if the file is not a directory
+     */
+    @Override
+    public boolean isLeaf() {
+        try {
+            return !isDirectory();
+        } catch (UncheckedIOException ex) {
+            return false;
+        }
+    }
+
+    @Override
+    public Stream<FileStreamSupplier> stream() {
+        try {
+            if (!getAttributes().isDirectory()) {
+                return Stream.empty();
+            }
+            return listDirectory().stream();
+        } catch (UncheckedIOException ex) {
+            if (ex.getCause() instanceof NoSuchFileException || ex.getCause() instanceof AccessDeniedException) {
+                throw new SkipPipelineConsumeException(1, ex.getMessage());
+            }
+            throw ex;
+        }
+    }
+
+    private List<FileStreamSupplier> listDirectory() {
+        List<FileStreamSupplier> entries = new ArrayList<>();
+        try (DirectoryStream<Path> directoryStream = Files.newDirectoryStream(path)) {
+            SecureDirectoryStream<Path> secureDirectoryStream =
+                directoryStream instanceof SecureDirectoryStream<Path> secure ? secure : null;
+            for (Path entry : directoryStream) {
+                BasicFileAttributes entryAttributes = readEntryAttributes(secureDirectoryStream, entry);
+                if (entryAttributes != null && (entryAttributes.isDirectory() || isMatchingFile(entry))) {
+                    entries.add(new FileStreamSupplier(entry, fileMatcher, entryAttributes));
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot list the directory " + path, ex);
+        }
+        entries.sort(FILE_NAME_ORDER);
+        return entries;
+    }
+
+    /**
+     * Read the attributes of a directory entry.
+     *
+     * @param secureDirectoryStream the open directory, or null to resolve the entry path
+     * @param entry                 the directory entry
+     * @return the entry attributes, or null if the entry disappeared or its attributes cannot be read
+     */
+    private BasicFileAttributes readEntryAttributes(final SecureDirectoryStream<Path> secureDirectoryStream,
+                                                    final Path entry) {
+        try {
+            return secureDirectoryStream != null ?
+                secureDirectoryStream
+                    .getFileAttributeView(entry.getFileName(), BasicFileAttributeView.class, NOFOLLOW_LINKS)
+                    .readAttributes() :
+                Files.readAttributes(entry, BasicFileAttributes.class, NOFOLLOW_LINKS);
+        } catch (IOException ex) {
+            return null;
+        }
+    }
+
+    private boolean isMatchingFile(final Path entry) {
+        return fileMatcher == null || fileMatcher.matches(entry.getFileName());
+    }
+
+    @Override
+    public String getStreamKey() {
+        return path.toString();
+    }
+
+    @Override
+    public String getStreamVersion() {
+        BasicFileAttributes fileAttributes = getAttributes();
+        return fileAttributes.isDirectory() ? fileAttributes.lastModifiedTime().toString() : null;
+    }
+
+    /**
+     * Gets a serializer of the stream suppliers of this file tree, for checkpoints or fingerprint indexes.
+     * <p>
+     * Only the paths are serialized, so the attributes of a deserialized file are read again when needed.
+     *
+     * @return the stream supplier serializer
+     */
+    public StreamSupplierSerializer<FileStreamSupplier> serializer() {
+        return new FileStreamSupplierSerializer(path.getFileSystem(), fileMatcher);
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return this == other || other instanceof FileStreamSupplier file && path.equals(file.path);
+    }
+
+    @Override
+    public int hashCode() {
+        return path.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return path.toString();
+    }
+}
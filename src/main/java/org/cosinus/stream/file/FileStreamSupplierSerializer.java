@@ -0,0 +1,57 @@
+/*
+ * Copyright 2025 Cosinus Software
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.cosinus.stream.file;
+
+import org.cosinus.stream.StreamSupplierSerializer;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.file.FileSystem;
+import java.nio.file.PathMatcher;
+
+/**
+ * Serializer of {@link FileStreamSupplier}s of the same file tree, writing only their paths.
+ */
+final class FileStreamSupplierSerializer implements StreamSupplierSerializer<FileStreamSupplier> {
+
+    private final FileSystem fileSystem;
+
+    private final PathMatcher fileMatcher;
+
+    /**
+     * Instantiates a new FileStreamSupplierSerializer.
+     *
+     * @param fileSystem  the file system of the file tree
+     * @param fileMatcher the matcher of the file names of the file tree, or null
+     */
+    FileStreamSupplierSerializer(final FileSystem fileSystem, final PathMatcher fileMatcher) {
+        this.fileSystem = fileSystem;
+        this.fileMatcher = fileMatcher;
+    }
+
+    @Override
+    public void write(final FileStreamSupplier streamSupplier, final DataOutput output) throws IOException {
+        output.writeUTF(streamSupplier.getPath().toString());
+    }
+
+    @Override
+    public FileStreamSupplier read(final DataInput input) throws IOException {
+        return new FileStreamSupplier(fileSystem.getPath(input.readUTF()), fileMatcher);
+    }
+}
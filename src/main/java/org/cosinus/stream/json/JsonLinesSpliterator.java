@@ -0,0 +1,93 @@
+/*
+ * Copyright 2025 Cosinus Software
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.cosinus.stream.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Spliterators.AbstractSpliterator;
+import java.util.function.Consumer;
+
+import static java.lang.Long.MAX_VALUE;
+
+/**
+ * Spliterator for streaming json values from a json parser.
+ * <p>
+ * One parser is used for the whole input, so consecutive root values
+ * (like the lines of a JSON Lines input) are read without creating a parser per value.
+ * The null values are skipped.
+ *
+ * @param <T> the type of the streamed values
+ */
+public class JsonLinesSpliterator<T> extends AbstractSpliterator<T> {
+
+    private final JsonParser parser;
+
+    private final ObjectReader objectReader;
+
+    /**
+     * Instantiates a new JsonLinesSpliterator.
+     *
+     * @param parser       the json parser
+     * @param objectReader the object reader binding the values
+     */
+    public JsonLinesSpliterator(final JsonParser parser, final ObjectReader objectReader) {
+        super(MAX_VALUE, ORDERED | NONNULL);
+        this.parser = parser;
+        this.objectReader = objectReader;
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super T> action) {
+        while (nextToken() != null) {
+            T value = tryRead();
+            if (value != null) {
+                action.accept(value);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Try to read the value starting at the current token.
+     * <p>
+     * The end of input is detected separately, so a value bound to null is only skipped
+     * and does not stop the stream.
+     *
+     * @return the read value, or null if the value is bound to null
+     */
+    protected T tryRead() {
+        try {
+            return objectReader.readValue(parser);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private JsonToken nextToken() {
+        try {
+            return parser.nextToken();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
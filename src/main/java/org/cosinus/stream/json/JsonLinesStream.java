@@ -0,0 +1,161 @@
+/*
+ * Copyright 2025 Cosinus Software
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.cosinus.stream.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.cosinus.stream.StreamDelegate;
+
+import java.io.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.StreamSupport.stream;
+
+/**
+ * The stream of json values read from JSON Lines text.
+ *
+ * @param <T> the type of the streamed values
+ */
+public class JsonLinesStream<T> extends StreamDelegate<T> {
+
+    /**
+     * The default number of lines decoded together in parallel mode.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 1024;
+
+    private final Closeable source;
+
+    /**
+     * Instantiates a new JsonLinesStream.
+     *
+     * @param delegate the delegate
+     * @param source   the source to close when the stream is closed
+     */
+    public JsonLinesStream(final Stream<T> delegate, final Closeable source) {
+        super(delegate);
+        this.source = source;
+    }
+
+    /**
+     * Get the json stream of the values of the given type read from the given input stream.
+     *
+     * @param <T>         the type of the streamed values
+     * @param inputStream the input stream
+     * @param type        the type of the values
+     * @return the json stream
+     */
+    public static <T> JsonLinesStream<T> of(final InputStream inputStream, final Class<T> type) {
+        return of(inputStream, JsonMapping.reader(type));
+    }
+
+    /**
+     * Get the json stream of the values read from the given input stream with the given object reader.
+     *
+     * @param <T>          the type of the streamed values
+     * @param inputStream  the input stream
+     * @param objectReader the object reader binding the values
+     * @return the json stream
+     */
+    public static <T> JsonLinesStream<T> of(final InputStream inputStream, final ObjectReader objectReader) {
+        requireNonNull(inputStream);
+        try {
+            return of(objectReader.createParser(inputStream), objectReader);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Get the json stream of the values read from the given text reader with the given object reader.
+     *
+     * @param <T>          the type of the streamed values
+     * @param reader       the text reader
+     * @param objectReader the object reader binding the values
+     * @return the json stream
+     */
+    public static <T> JsonLinesStream<T> of(final Reader reader, final ObjectReader objectReader) {
+        requireNonNull(reader);
+        try {
+            return of(objectReader.createParser(reader), objectReader);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Get the json stream of the values read by the given parser with the given object reader.
+     *
+     * @param <T>          the type of the streamed values
+     * @param parser       the json parser
+     * @param objectReader the object reader binding the values
+     * @return the json stream
+     */
+    public static <T> JsonLinesStream<T> of(final JsonParser parser, final ObjectReader objectReader) {
+        requireNonNull(parser);
+        JsonLinesSpliterator<T> spliterator = new JsonLinesSpliterator<>(parser, objectReader);
+        return new JsonLinesStream<>(stream(spliterator, false), parser);
+    }
+
+    /**
+     * Get the json stream of the values of the given type read from the given UTF-8 input stream,
+     * decoding batches of lines in parallel.
+     *
+     * @param <T>         the type of the streamed values
+     * @param inputStream the input stream
+     * @param type        the type of the values
+     * @return the json stream
+     */
+    public static <T> JsonLinesStream<T> parallelOf(final InputStream inputStream, final Class<T> type) {
+        return parallelOf(
+            new BufferedReader(new InputStreamReader(inputStream, UTF_8)), JsonMapping.reader(type), DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Get the json stream of the values read from the given text reader with the given object reader,
+     * decoding batches of lines in parallel on the common fork join pool.
+     *
+     * @param <T>          the type of the streamed values
+     * @param reader       the text reader
+     * @param objectReader the object reader binding the values
+     * @param batchSize    the number of lines decoded together
+     * @return the json stream
+     */
+    public static <T> JsonLinesStream<T> parallelOf(final BufferedReader reader,
+                                                    final ObjectReader objectReader,
+                                                    final int batchSize) {
+        requireNonNull(reader);
+        ForkJoinPool executor = ForkJoinPool.commonPool();
+        ParallelJsonLinesSpliterator<T> spliterator = new ParallelJsonLinesSpliterator<>(
+            reader, objectReader, batchSize, executor.getParallelism() + 1, executor);
+        return new JsonLinesStream<>(stream(spliterator, false), reader);
+    }
+
+    @Override
+    public void close() {
+        super.close();
+
+        try {
+            source.close();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2025 Cosinus Software
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.cosinus.stream.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import static com.fasterxml.jackson.databind.SerializationFeature.FLUSH_AFTER_WRITE_VALUE;
+
+/**
+ * Json mapping utils.
+ * <p>
+ * It keeps a shared {@link ObjectMapper} and caches the {@link ObjectReader} and {@link ObjectWriter}
+ * of every bound type, so the root deserializer and serializer of a type are resolved only once.
+ */
+public final class JsonMapping {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final ClassValue<ObjectReader> READERS = new ClassValue<>() {
+        @Override
+        protected ObjectReader computeValue(Class<?> type) {
+            return OBJECT_MAPPER.readerFor(type);
+        }
+    };
+
+    private static final ClassValue<ObjectWriter> WRITERS = new ClassValue<>() {
+        @Override
+        protected ObjectWriter computeValue(Class<?> type) {
+            return OBJECT_MAPPER.writerFor(type).without(FLUSH_AFTER_WRITE_VALUE);
+        }
+    };
+
+    /**
+     * Get the shared object mapper.
+     *
+     * @return the object mapper
+     */
+    public static ObjectMapper objectMapper() {
+        return OBJECT_MAPPER;
+    }
+
+    /**
+     * Get the cached object reader for the given type.
+     *
+     * @param type the type to bind
+     * @return the object reader
+     */
+    public static ObjectReader reader(final Class<?> type) {
+        return READERS.get(type);
+    }
+
+    /**
+     * Get the cached object writer for the given type.
+     * <p>
+     * The writer does not flush the output after every written value,
+     * so it can be used with a long-lived generator.
+     *
+     * @param type the type to write
+     * @return the object writer
+     */
+    public static ObjectWriter writer(final Class<?> type) {
+        return WRITERS.get(type);
+    }
+
+    /**
+     * Private constructor
+     */
+    private JsonMapping() {
+    }
+}
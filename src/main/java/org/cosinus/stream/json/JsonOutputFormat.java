@@ -0,0 +1,33 @@
+/*
+ * Copyright 2025 Cosinus Software
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.cosinus.stream.json;
+
+/**
+ * The json output format values
+ */
+public enum JsonOutputFormat {
+    /**
+     * All the values are written in one json array
+     */
+    ARRAY,
+
+    /**
+     * Every value is written on its own line, as JSON Lines
+     */
+    LINES
+}
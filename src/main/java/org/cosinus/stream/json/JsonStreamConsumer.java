@@ -0,0 +1,134 @@
+/*
+ * Copyright 2025 Cosinus Software
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.cosinus.stream.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.cosinus.stream.consumer.StreamConsumer;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+import static org.cosinus.stream.json.JsonOutputFormat.ARRAY;
+import static org.cosinus.stream.json.JsonOutputFormat.LINES;
+
+/**
+ * The implementation of {@link StreamConsumer} to consume values by writing them as json to an {@link OutputStream}.
+ * <p>
+ * All the values are written through one {@link JsonGenerator}, using the same {@link ObjectWriter},
+ * so no serializer setup and no intermediate string is needed per value.
+ * The output is buffered and flushed only when the buffer is full,
+ * or after every given number of values if a flush threshold is set.
+ * <p>
+ * A retried value is written again from the beginning,
+ * so retrying is safe only for failures occurring before the value is written.
+ *
+ * @param <T> the type of the consumed values
+ */
+public class JsonStreamConsumer<T> implements StreamConsumer<T> {
+
+    /**
+     * The default size of the output buffer.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 65536;
+
+    private final JsonGenerator generator;
+
+    private final ObjectWriter objectWriter;
+
+    private final JsonOutputFormat outputFormat;
+
+    private final int flushThreshold;
+
+    private int unflushedCount;
+
+    /**
+     * Instantiates a new JsonStreamConsumer writing JSON Lines.
+     *
+     * @param outputStream the output stream
+     * @param type         the type of the consumed values
+     */
+    public JsonStreamConsumer(final OutputStream outputStream, final Class<T> type) {
+        this(outputStream, JsonMapping.writer(type), LINES, 0, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Instantiates a new JsonStreamConsumer.
+     *
+     * @param outputStream   the output stream
+     * @param objectWriter   the object writer
+     * @param outputFormat   the json output format
+     * @param flushThreshold the number of values after which the output is flushed, or 0 to flush only when needed
+     * @param bufferSize     the size of the output buffer
+     */
+    public JsonStreamConsumer(final OutputStream outputStream,
+                              final ObjectWriter objectWriter,
+                              final JsonOutputFormat outputFormat,
+                              final int flushThreshold,
+                              final int bufferSize) {
+        this.objectWriter = objectWriter;
+        this.outputFormat = outputFormat;
+        this.flushThreshold = flushThreshold;
+        try {
+            this.generator = objectWriter.createGenerator(new BufferedOutputStream(outputStream, bufferSize));
+            if (outputFormat == ARRAY) {
+                generator.writeStartArray();
+            } else {
+                generator.setRootValueSeparator(null);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Override
+    public void accept(final T value) {
+        try {
+            objectWriter.writeValue(generator, value);
+            if (outputFormat == LINES) {
+                generator.writeRaw('\n');
+            }
+            if (flushThreshold > 0 && ++unflushedCount >= flushThreshold) {
+                flush();
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Flush the written values to the output stream.
+     *
+     * @throws IOException if the flush fails
+     */
+    public void flush() throws IOException {
+        generator.flush();
+        unflushedCount = 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try (generator) {
+            if (outputFormat == ARRAY) {
+                generator.writeEndArray();
+            }
+        }
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2025 Cosinus Software
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.cosinus.stream.json;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Spliterators.AbstractSpliterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+import static java.lang.Long.MAX_VALUE;
+import static java.util.concurrent.CompletableFuture.supplyAsync;
+
+/**
+ * Spliterator for streaming json values from JSON Lines text, decoding batches of lines in parallel.
+ * <p>
+ * The lines are read sequentially and grouped in batches, which are decoded by the given executor
+ * while the previous batches are consumed. The values are provided in the order of the lines.
+ * The blank lines and the null values are skipped.
+ *
+ * @param <T> the type of the streamed values
+ */
+public class ParallelJsonLinesSpliterator<T> extends AbstractSpliterator<T> {
+
+    private final BufferedReader reader;
+
+    private final ObjectReader objectReader;
+
+    private final int batchSize;
+
+    private final int maxBatches;
+
+    private final Executor executor;
+
+    private final Queue<CompletableFuture<List<T>>> batches;
+
+    private Iterator<T> batch;
+
+    private boolean endOfInput;
+
+    /**
+     * Instantiates a new ParallelJsonLinesSpliterator.
+     *
+     * @param reader       the text reader
+     * @param objectReader the object reader binding the values
+     * @param batchSize    the number of lines decoded together
+     * @param maxBatches   the maximum number of batches read ahead
+     * @param executor     the executor decoding the batches
+     */
+    public ParallelJsonLinesSpliterator(final BufferedReader reader,
+                                        final ObjectReader objectReader,
+                                        final int batchSize,
+                                        final int maxBatches,
+                                        final Executor executor) {
+        super(MAX_VALUE, ORDERED | NONNULL);
+        this.reader = reader;
+        this.objectReader = objectReader;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.executor = executor;
+        this.batches = new ArrayDeque<>();
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super T> action) {
+        while (batch == null || !batch.hasNext()) {
+            readBatches();
+            CompletableFuture<List<T>> nextBatch = batches.poll();
+            if (nextBatch == null) {
+                return false;
+            }
+            batch = join(nextBatch).iterator();
+        }
+
+        action.accept(batch.next());
+        return true;
+    }
+
+    /**
+     * Read lines and submit them for decoding until the maximum number of batches is reached.
+     */
+    protected void readBatches() {
+        while (!endOfInput && batches.size() < maxBatches) {
+            List<String> lines = readLines();
+            if (lines.isEmpty()) {
+                endOfInput = true;
+            } else {
+                batches.add(supplyAsync(() -> decode(lines), executor));
+            }
+        }
+    }
+
+    /**
+     * Read the next batch of lines.
+     *
+     * @return the read lines, or an empty list if no line is available anymore
+     */
+    protected List<String> readLines() {
+        List<String> lines = new ArrayList<>(batchSize);
+        try {
+            String line;
+            while (lines.size() < batchSize && (line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    lines.add(line);
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return lines;
+    }
+
+    /**
+     * Decode a batch of lines.
+     *
+     * @param lines the lines to decode
+     * @return the decoded values
+     */
+    protected List<T> decode(final List<String> lines) {
+        return lines.stream()
+            .map(this::decode)
+            .filter(Objects::nonNull)
+            .toList();
+    }
+
+    private T decode(final String line) {
+        try {
+            return objectReader.readValue(line);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private List<T> join(final CompletableFuture<List<T>> batch) {
+        try {
+            return batch.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2025 Cosinus Software
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.cosinus.stream.page;
+
+import java.time.Duration;
+
+/**
+ * Page size adapted to the observed fetch latency.
+ * <p>
+ * The page size grows when the pages are fetched faster than the target latency and shrinks when slower,
+ * by at most a factor of two per page and within the given bounds.
+ * When the pages are addressed by page number, the page size only doubles or halves,
+ * and it grows only at an offset multiple of the new size, so every page starts at a multiple of its size
+ * and the page number always maps to the right offset.
+ */
+final class AdaptivePageSize {
+
+    private final int minPageSize;
+
+    private final int maxPageSize;
+
+    private final long targetLatencyNanos;
+
+    private final boolean aligned;
+
+    private int pageSize;
+
+    private int desiredPageSize;
+
+    private long position = -1;
+
+    /**
+     * Instantiates a new AdaptivePageSize.
+     *
+     * @param pagingStrategy the paging strategy
+     * @param aligned        true if the pages are addressed by page number, so they must start at a multiple of their size
+     */
+    AdaptivePageSize(final PagingStrategy pagingStrategy, final boolean aligned) {
+        this.minPageSize = Math.max(1, pagingStrategy.getMinPageSize());
+        this.maxPageSize = Math.max(minPageSize, pagingStrategy.getMaxPageSize());
+        this.targetLatencyNanos = Math.max(1, pagingStrategy.getTargetFetchLatency().toNanos());
+        this.aligned = aligned;
+        this.pageSize = Math.min(Math.max(pagingStrategy.getPageSize(), minPageSize), maxPageSize);
+        this.desiredPageSize = pageSize;
+    }
+
+    /**
+     * Get the size of the page starting at the given position.
+     * <p>
+     * The size is adjusted at most once per position, so asking again for the same position gives the same size.
+     *
+     * @param offset the offset of the first item of the page
+     * @return the page size
+     */
+    synchronized int pageSizeAt(final long offset) {
+        if (offset != position) {
+            position = offset;
+            if (!aligned) {
+                pageSize = desiredPageSize;
+            } else if (desiredPageSize >= pageSize * 2L && pageSize * 2L <= maxPageSize && offset % (pageSize * 2L) == 0) {
+                pageSize *= 2;
+            } else if (desiredPageSize <= pageSize / 2 && pageSize % 2 == 0 && pageSize / 2 >= minPageSize) {
+                pageSize /= 2;
+            }
+        }
+        return pageSize;
+    }
+
+    /**
+     * Observe the latency of fetching a page.
+     *
+     * @param requestedPageSize the requested page size
+     * @param latency           the fetch latency
+     */
+    synchronized void observe(final int requestedPageSize, final Duration latency) {
+        double ratio = (double) targetLatencyNanos / Math.max(1, latency.toNanos());
+        long size = Math.round(requestedPageSize * Math.min(Math.max(ratio, 0.5), 2));
+        desiredPageSize = (int) Math.min(Math.max(size, minPageSize), maxPageSize);
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2025 Cosinus Software
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.cosinus.stream.page;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A page supplier decorator keeping the fetched pages in a {@link PageCache}.
+ * <p>
+ * Useful when the same paged source is streamed repeatedly:
+ * the pages still in the cache are not fetched again.
+ * The page metadata returned by a {@link PageResultSupplier} is cached with the page.
+ *
+ * @param <T> the type of paged items
+ */
+public class CachingPageSupplier<T> implements PageResultSupplier<T> {
+
+    private final PageSupplier<T> pageSupplier;
+
+    private final PageCache pageCache;
+
+    private final Object callerKey;
+
+    /**
+     * Instantiates a new CachingPageSupplier.
+     *
+     * @param pageSupplier the decorated page supplier
+     * @param pageCache    the page cache, possibly shared with other caching page suppliers
+     * @param callerKey    the key identifying the decorated paged source in the page cache
+     */
+    public CachingPageSupplier(final PageSupplier<T> pageSupplier, final PageCache pageCache, final Object callerKey) {
+        this.pageSupplier = requireNonNull(pageSupplier);
+        this.pageCache = requireNonNull(pageCache);
+        this.callerKey = requireNonNull(callerKey);
+    }
+
+    @Override
+    public Page<T> getPageResult(final int pageSize, final int pageNumber) {
+        return pageCache.get(callerKey, pageSize, pageNumber, () -> fetchPage(pageSize, pageNumber));
+    }
+
+    @Override
+    public int getPageCount(final int pageSize) {
+        return pageSupplier.getPageCount(pageSize);
+    }
+
+    /**
+     * Remove the cached pages of the decorated paged source.
+     */
+    public void invalidate() {
+        pageCache.invalidate(callerKey);
+    }
+
+    private Page<T> fetchPage(final int pageSize, final int pageNumber) {
+        return pageSupplier instanceof PageResultSupplier<T> pageResultSupplier ?
+            pageResultSupplier.getPageResult(pageSize, pageNumber) :
+            Page.of(pageSupplier.getPage(pageSize, pageNumber));
+    }
+}
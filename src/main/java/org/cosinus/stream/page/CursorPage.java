@@ -0,0 +1,65 @@
+/*
+ * Copyright 2025 Cosinus Software
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.cosinus.stream.page;
+
+import java.util.List;
+
+/**
+ * A page of items fetched by cursor, with the continuation cursor of the next page.
+ *
+ * @param items      the items of the page
+ * @param nextCursor the cursor of the next page, or null if this is the last page
+ * @param <T>        the type of paged items
+ * @param <C>        the type of the cursor
+ */
+public record CursorPage<T, C>(List<T> items, C nextCursor) {
+
+    /**
+     * Get a page followed by another page.
+     *
+     * @param <T>        the type of paged items
+     * @param <C>        the type of the cursor
+     * @param items      the items of the page
+     * @param nextCursor the cursor of the next page
+     * @return the page
+     */
+    public static <T, C> CursorPage<T, C> of(final List<T> items, final C nextCursor) {
+        return new CursorPage<>(items, nextCursor);
+    }
+
+    /**
+     * Get the last page.
+     *
+     * @param <T>   the type of paged items
+     * @param <C>   the type of the cursor
+     * @param items the items of the page
+     * @return the page
+     */
+    public static <T, C> CursorPage<T, C> last(final List<T> items) {
+        return new CursorPage<>(items, null);
+    }
+
+    /**
+     * Ask if this is the last page.
+     *
+     * @return true if there is no next page
+     */
+    public boolean isLast() {
+        return nextCursor == null;
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2025 Cosinus Software
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.cosinus.stream.page;
+
+/**
+ * The interface for a page supplier using continuation cursors (like keyset pagination),
+ * instead of page numbers.
+ * <p>
+ * Every page returns the cursor of the next page, so the backend can continue from where the previous page ended,
+ * instead of skipping all the previous items.
+ *
+ * @param <T> the type of paged items
+ * @param <C> the type of the cursor
+ */
+@FunctionalInterface
+public interface CursorPageSupplier<T, C> {
+
+    /**
+     * Gets the page of items following the given cursor.
+     *
+     * @param pageSize the page size
+     * @param cursor   the cursor returned by the previous page, or null for the first page
+     * @return the page of items
+     */
+    CursorPage<T, C> getPage(int pageSize, C cursor);
+}
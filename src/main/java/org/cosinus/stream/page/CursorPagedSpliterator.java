@@ -0,0 +1,225 @@
+/*
+ * Copyright 2025 Cosinus Software
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.cosinus.stream.page;
+
+import java.time.Duration;
+import java.util.LinkedList;
+import java.util.Queue;
+import java.util.Spliterators.AbstractSpliterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import static java.lang.Long.MAX_VALUE;
+import static org.cosinus.stream.page.PagingStrategy.DEFAULT_PAGING;
+
+/**
+ * The spliterator implementation for streaming items in pages fetched by cursor.
+ * <p>
+ * If the paging strategy asks for prefetching, the pages are fetched in background one after the other,
+ * each with the cursor of the previous one, running ahead of the consumed page by up to the number of prefetched pages.
+ * The failed requests are retried according to the paging strategy.
+ * If the paging strategy asks for an adaptive page size, the page size follows the observed fetch latency.
+ *
+ * @param <T> the type of streamed items
+ * @param <C> the type of the cursor
+ */
+public class CursorPagedSpliterator<T, C> extends AbstractSpliterator<T> implements AutoCloseable {
+
+    private final CursorPageSupplier<T, C> pageSupplier;
+
+    private final Queue<T> activities;
+
+    private final int pageSize;
+
+    private final int prefetchPages;
+
+    private final PageFetcher pageFetcher;
+
+    private final AdaptivePageSize adaptivePageSize;
+
+    private long fetchedPages;
+
+    private BlockingQueue<FetchedPage<T, C>> prefetchedPages;
+
+    private Future<?> prefetching;
+
+    private C cursor;
+
+    private boolean lastPage;
+
+    /**
+     * Instantiates a new CursorPagedSpliterator.
+     *
+     * @param pageSupplier the items page supplier
+     */
+    public CursorPagedSpliterator(final CursorPageSupplier<T, C> pageSupplier) {
+        this(pageSupplier, DEFAULT_PAGING);
+    }
+
+    /**
+     * Instantiates a new CursorPagedSpliterator.
+     *
+     * @param pageSupplier   the items page supplier
+     * @param pagingStrategy the paging strategy
+     */
+    public CursorPagedSpliterator(final CursorPageSupplier<T, C> pageSupplier,
+                                  final PagingStrategy pagingStrategy) {
+        super(MAX_VALUE, ORDERED | NONNULL);
+
+        this.pageSupplier = pageSupplier;
+        this.pageSize = pagingStrategy.getPageSize();
+        this.prefetchPages = pagingStrategy.getPrefetchPages();
+        this.pageFetcher = new PageFetcher(pagingStrategy);
+        this.activities = new LinkedList<>();
+        this.adaptivePageSize = pagingStrategy.isAdaptivePageSize() ?
+            new AdaptivePageSize(pagingStrategy, false) :
+            null;
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super T> action) {
+        while (activities.isEmpty() && !lastPage) {
+            activities.addAll(getNextPage().items());
+        }
+
+        if (activities.isEmpty()) {
+            return false;
+        }
+
+        action.accept(activities.poll());
+        return true;
+    }
+
+    /**
+     * Gets the next page of items.
+     *
+     * @return the next page of items
+     */
+    protected CursorPage<T, C> getNextPage() {
+        CursorPage<T, C> nextPage = prefetchPages <= 0 ?
+            fetchPage(cursor) :
+            takePrefetchedPage();
+        cursor = nextPage.nextCursor();
+        lastPage = nextPage.isLast();
+        return nextPage;
+    }
+
+    private CursorPage<T, C> fetchPage(final C pageCursor) {
+        int nextPageSize = getPageSize();
+        CursorPage<T, C> page = pageFetcher.fetch(() -> {
+            long start = System.nanoTime();
+            CursorPage<T, C> fetchedPage = pageSupplier.getPage(nextPageSize, pageCursor);
+            if (adaptivePageSize != null) {
+                adaptivePageSize.observe(nextPageSize, Duration.ofNanos(System.nanoTime() - start));
+            }
+            return fetchedPage;
+        });
+        fetchedPages++;
+        return page;
+    }
+
+    private CursorPage<T, C> takePrefetchedPage() {
+        if (prefetching == null) {
+            prefetchedPages = new ArrayBlockingQueue<>(prefetchPages);
+            prefetching = pageFetcher.submit(this::prefetch);
+        }
+
+        try {
+            FetchedPage<T, C> fetchedPage = prefetchedPages.take();
+            if (fetchedPage.failure() instanceof RuntimeException ex) {
+                throw ex;
+            }
+            if (fetchedPage.failure() instanceof Error error) {
+                throw error;
+            }
+            if (fetchedPage.failure() != null) {
+                throw new IllegalStateException("Failed to prefetch a page", fetchedPage.failure());
+            }
+            return fetchedPage.page();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a page", ex);
+        }
+    }
+
+    /**
+     * Fetch the pages one after the other, until the last page,
+     * blocking when the number of prefetched pages is reached.
+     * <p>
+     * Unless the prefetching is cancelled, it always ends by queuing either the last page or a failure,
+     * so the consumer never waits for a page which will not come.
+     *
+     * @return nothing
+     */
+    private Void prefetch() {
+        C pageCursor = cursor;
+        Throwable failure = null;
+        boolean lastPageQueued = false;
+        try {
+            CursorPage<T, C> page;
+            do {
+                page = fetchPage(pageCursor);
+                prefetchedPages.put(new FetchedPage<>(page, null));
+                pageCursor = page.nextCursor();
+            } while (!page.isLast());
+            lastPageQueued = true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (Throwable ex) {
+            failure = ex;
+        } finally {
+            if (!lastPageQueued && !Thread.currentThread().isInterrupted()) {
+                queueFailure(failure != null ? failure : new IllegalStateException("Page prefetching stopped"));
+            }
+        }
+        return null;
+    }
+
+    private void queueFailure(final Throwable failure) {
+        try {
+            prefetchedPages.put(new FetchedPage<>(null, failure));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Gets the page size.
+     *
+     * @return the page size
+     */
+    protected int getPageSize() {
+        return adaptivePageSize != null ? adaptivePageSize.pageSizeAt(fetchedPages) : pageSize;
+    }
+
+    /**
+     * Stop fetching pages in background and release the background threads.
+     */
+    @Override
+    public void close() {
+        if (prefetching != null) {
+            prefetching.cancel(true);
+        }
+        pageFetcher.close();
+    }
+
+    private record FetchedPage<T, C>(CursorPage<T, C> page, Throwable failure) {
+    }
+}
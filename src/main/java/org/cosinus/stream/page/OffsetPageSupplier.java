@@ -0,0 +1,46 @@
+/*
+ * Copyright 2025 Cosinus Software
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.cosinus.stream.page;
+
+import java.util.List;
+
+/**
+ * The interface for a page supplier addressing the items by offset and limit, instead of page number.
+ * <p>
+ * Such a supplier allows the page size to change freely between pages,
+ * since a page does not need to start at a multiple of its size.
+ *
+ * @param <T> the type of paged items
+ */
+@FunctionalInterface
+public interface OffsetPageSupplier<T> extends PageSupplier<T> {
+
+    /**
+     * Gets the items starting at the given offset.
+     *
+     * @param offset the zero based offset of the first item
+     * @param limit  the maximum number of items
+     * @return the list of items
+     */
+    List<T> getItems(long offset, int limit);
+
+    @Override
+    default List<T> getPage(int pageSize, int pageNumber) {
+        return getItems((long) (pageNumber - 1) * pageSize, pageSize);
+    }
+}
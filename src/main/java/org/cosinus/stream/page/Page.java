@@ -0,0 +1,112 @@
+/*
+ * Copyright 2025 Cosinus Software
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.cosinus.stream.page;
+
+import java.util.List;
+
+/**
+ * A page of items, with the optional metadata returned by the paged source.
+ * <p>
+ * When the total count is known, the paged stream knows its exact size
+ * and stops requesting pages once all the items were fetched.
+ *
+ * @param items      the items of the page
+ * @param totalCount the total number of items of all the pages, or {@link #UNKNOWN_TOTAL_COUNT} if not known
+ * @param hasMore    false if this is known to be the last page
+ * @param <T>        the type of paged items
+ */
+public record Page<T>(List<T> items, long totalCount, boolean hasMore) {
+
+    /**
+     * The total count value when the total number of items is not known.
+     */
+    public static final long UNKNOWN_TOTAL_COUNT = -1;
+
+    /**
+     * Get a page without metadata.
+     *
+     * @param <T>   the type of paged items
+     * @param items the items of the page
+     * @return the page
+     */
+    public static <T> Page<T> of(final List<T> items) {
+        return new Page<>(items, UNKNOWN_TOTAL_COUNT, true);
+    }
+
+    /**
+     * Get a page with the total number of items.
+     *
+     * @param <T>        the type of paged items
+     * @param items      the items of the page
+     * @param totalCount the total number of items of all the pages
+     * @return the page
+     */
+    public static <T> Page<T> of(final List<T> items, final long totalCount) {
+        return new Page<>(items, totalCount, true);
+    }
+
+    /**
+     * Get a page with a hint about the next pages.
+     *
+     * @param <T>     the type of paged items
+     * @param items   the items of the page
+     * @param hasMore false if this is the last page
+     * @return the page
+     */
+    public static <T> Page<T> of(final List<T> items, final boolean hasMore) {
+        return new Page<>(items, UNKNOWN_TOTAL_COUNT, hasMore);
+    }
+
+    /**
+     * Get the last page.
+     *
+     * @param <T>   the type of paged items
+     * @param items the items of the page
+     * @return the page
+     */
+    public static <T> Page<T> last(final List<T> items) {
+        return new Page<>(items, UNKNOWN_TOTAL_COUNT, false);
+    }
+
+    /**
+     * Ask if the total number of items is known.
+     *
+     * @return true if the total count is known
+     */
+    public boolean isTotalCountKnown() {
+        return totalCount != UNKNOWN_TOTAL_COUNT;
+    }
+
+    /**
+     * Ask if this is the last page.
+     *
+     * @return true if this is known to be the last page
+     */
+    public boolean isLast() {
+        return !hasMore || items.isEmpty();
+    }
+
+    /**
+     * Get the same page, marked as the last one.
+     *
+     * @return the last page
+     */
+    public Page<T> asLast() {
+        return hasMore ? new Page<>(items, totalCount, false) : this;
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright 2025 Cosinus Software
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.cosinus.stream.page;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A bounded cache of fetched pages, shared by {@link CachingPageSupplier caching page suppliers}.
+ * <p>
+ * The pages are keyed by a caller key (identifying the paged source, like a dataset name and its query parameters),
+ * the page size and the page number.
+ * The cache is bounded by a total weight (by default the number of cached items):
+ * the least recently used pages are evicted when the budget is exceeded.
+ * The pages also expire after the given time to live.
+ * <p>
+ * Concurrent requests of the same missing page share one fetch.
+ */
+public final class PageCache {
+
+    private final long maxWeight;
+
+    private final long timeToLiveNanos;
+
+    private final ToLongFunction<? super Page<?>> weigher;
+
+    private final LinkedHashMap<PageKey, CachedPage> cachedPages;
+
+    private final Map<PageKey, CompletableFuture<Page<?>>> pendingPages;
+
+    private long weight;
+
+    /**
+     * Instantiates a new PageCache, weighting the pages by their number of items.
+     *
+     * @param maxItems   the maximum number of cached items
+     * @param timeToLive the time to live of a cached page
+     */
+    public PageCache(final long maxItems, final Duration timeToLive) {
+        this(maxItems, timeToLive, page -> page.items().size());
+    }
+
+    /**
+     * Instantiates a new PageCache.
+     *
+     * @param maxWeight  the maximum total weight of the cached pages
+     * @param timeToLive the time to live of a cached page
+     * @param weigher    the function giving the weight of a page, like its estimated size in bytes
+     */
+    public PageCache(final long maxWeight,
+                     final Duration timeToLive,
+                     final ToLongFunction<? super Page<?>> weigher) {
+        if (maxWeight < 0) {
+            throw new IllegalArgumentException("Invalid maximum weight: " + maxWeight);
+        }
+        this.maxWeight = maxWeight;
+        this.timeToLiveNanos = requireNonNull(timeToLive).toNanos();
+        this.weigher = requireNonNull(weigher);
+        this.cachedPages = new LinkedHashMap<>(16, 0.75f, true);
+        this.pendingPages = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Get a cached page, or fetch it.
+     * <p>
+     * If the same page is already being fetched, wait for that fetch instead of starting a new one.
+     * A failed fetch is not cached, and its failure is thrown to all the callers waiting for it.
+     *
+     * @param <T>        the type of paged items
+     * @param callerKey  the key of the paged source
+     * @param pageSize   the page size
+     * @param pageNumber the page number
+     * @param fetcher    the fetcher of the page, called on a cache miss
+     * @return the page
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Page<T> get(final Object callerKey,
+                           final int pageSize,
+                           final int pageNumber,
+                           final Supplier<Page<T>> fetcher) {
+        PageKey key = new PageKey(callerKey, pageSize, pageNumber);
+        Page<?> cachedPage = getCached(key);
+        if (cachedPage != null) {
+            return (Page<T>) cachedPage;
+        }
+
+        CompletableFuture<Page<?>> pendingPage = new CompletableFuture<>();
+        CompletableFuture<Page<?>> existingPendingPage = pendingPages.putIfAbsent(key, pendingPage);
+        if (existingPendingPage != null) {
+            return (Page<T>) join(existingPendingPage);
+        }
+
+        try {
+            // the page may have been cached while this request was checking the pending pages
+            Page<?> page = getCached(key);
+            if (page == null) {
+                Page<T> fetchedPage = fetcher.get();
+                page = new Page<>(List.copyOf(fetchedPage.items()), fetchedPage.totalCount(), fetchedPage.hasMore());
+                put(key, page);
+            }
+            pendingPage.complete(page);
+            return (Page<T>) page;
+        } catch (RuntimeException | Error ex) {
+            pendingPage.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            pendingPages.remove(key, pendingPage);
+        }
+    }
+
+    /**
+     * Remove all the cached pages of a paged source.
+     *
+     * @param callerKey the key of the paged source
+     */
+    public synchronized void invalidate(final Object callerKey) {
+        Iterator<Map.Entry<PageKey, CachedPage>> iterator = cachedPages.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<PageKey, CachedPage> entry = iterator.next();
+            if (entry.getKey().callerKey().equals(callerKey)) {
+                weight -= entry.getValue().weight();
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Remove all the cached pages.
+     */
+    public synchronized void clear() {
+        cachedPages.clear();
+        weight = 0;
+    }
+
+    /**
+     * Get the number of cached pages.
+     *
+     * @return the number of cached pages
+     */
+    public synchronized int size() {
+        return cachedPages.size();
+    }
+
+    /**
+     * Get the total weight of the cached pages.
+     *
+     * @return the total weight
+     */
+    public synchronized long weight() {
+        return weight;
+    }
+
+    private synchronized Page<?> getCached(final PageKey key) {
+        CachedPage cachedPage = cachedPages.get(key);
+        if (cachedPage == null) {
+            return null;
+        }
+        if (System.nanoTime() - cachedPage.expiresAt() >= 0) {
+            cachedPages.remove(key);
+            weight -= cachedPage.weight();
+            return null;
+        }
+        return cachedPage.page();
+    }
+
+    private synchronized void put(final PageKey key, final Page<?> page) {
+        long pageWeight = weigher.applyAsLong(page);
+        if (pageWeight > maxWeight) {
+            return;
+        }
+
+        CachedPage cachedPage = new CachedPage(page, pageWeight, System.nanoTime() + timeToLiveNanos);
+        CachedPage previousPage = cachedPages.put(key, cachedPage);
+        if (previousPage != null) {
+            weight -= previousPage.weight();
+        }
+        weight += pageWeight;
+
+        Iterator<CachedPage> leastRecentlyUsed = cachedPages.values().iterator();
+        while (weight > maxWeight && leastRecentlyUsed.hasNext()) {
+            weight -= leastRecentlyUsed.next().weight();
+            leastRecentlyUsed.remove();
+        }
+    }
+
+    private static Page<?> join(final CompletableFuture<Page<?>> pendingPage) {
+        try {
+            return pendingPage.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw ex;
+        }
+    }
+
+    private record PageKey(Object callerKey, int pageSize, int pageNumber) {
+    }
+
+    private record CachedPage(Page<?> page, long weight, long expiresAt) {
+    }
+}
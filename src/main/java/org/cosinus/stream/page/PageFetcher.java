@@ -0,0 +1,139 @@
+/*
+ * Copyright 2025 Cosinus Software
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.cosinus.stream.page;
+
+import org.cosinus.stream.StreamingStrategy;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import static java.util.concurrent.Executors.newVirtualThreadPerTaskExecutor;
+
+/**
+ * Fetcher of pages, retrying the failed requests after a jittered backoff according to a streaming strategy
+ * and running the background requests on virtual threads.
+ * <p>
+ * One fetcher is shared by a spliterator and all the spliterators split from it.
+ */
+final class PageFetcher implements AutoCloseable {
+
+    private final StreamingStrategy streamingStrategy;
+
+    private ExecutorService executor;
+
+    /**
+     * Instantiates a new PageFetcher.
+     *
+     * @param streamingStrategy the streaming strategy
+     */
+    PageFetcher(final StreamingStrategy streamingStrategy) {
+        this.streamingStrategy = streamingStrategy;
+    }
+
+    /**
+     * Fetch a page in the current thread.
+     *
+     * @param <R>     the type of the page
+     * @param request the page request
+     * @return the page
+     */
+    <R> R fetch(final Supplier<R> request) {
+        return fetch(request, 0);
+    }
+
+    private <R> R fetch(final Supplier<R> request, final int retryCount) {
+        try {
+            return request.get();
+        } catch (Exception ex) {
+            if (streamingStrategy != null &&
+                retryCount < streamingStrategy.getRetryMaxAttempts() &&
+                streamingStrategy.shouldRetryOnFail(ex)) {
+
+                backoff(streamingStrategy.getRetryDelay(retryCount + 1));
+                return fetch(request, retryCount + 1);
+            } else {
+                throw ex;
+            }
+        }
+    }
+
+    private void backoff(final Duration delay) {
+        if (delay.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to retry a page", ex);
+        }
+    }
+
+    /**
+     * Fetch a page in background.
+     *
+     * @param <R>     the type of the page
+     * @param request the page request
+     * @return the future page
+     */
+    <R> Future<R> submit(final Supplier<R> request) {
+        return executor().submit(() -> fetch(request));
+    }
+
+    /**
+     * Wait for a page fetched in background.
+     *
+     * @param <R>    the type of the page
+     * @param future the future page
+     * @return the page
+     */
+    static <R> R await(final Future<R> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new IllegalStateException("Interrupted while waiting for a page", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    private synchronized ExecutorService executor() {
+        if (executor == null) {
+            executor = newVirtualThreadPerTaskExecutor();
+        }
+        return executor;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+}
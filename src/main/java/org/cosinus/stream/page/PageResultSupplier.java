@@ -0,0 +1,47 @@
+/*
+ * Copyright 2025 Cosinus Software
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.cosinus.stream.page;
+
+import java.util.List;
+
+/**
+ * The interface for a page supplier returning the pages with their metadata,
+ * like the total number of items or whether more pages follow.
+ * <p>
+ * A paged stream over such a supplier knows its exact size once its first page is fetched,
+ * if the total count is returned.
+ *
+ * @param <T> the type of paged items
+ */
+@FunctionalInterface
+public interface PageResultSupplier<T> extends PageSupplier<T> {
+
+    /**
+     * Gets the page corresponding to the given page size and page number, with its metadata.
+     *
+     * @param pageSize   the page size
+     * @param pageNumber the page number
+     * @return the page
+     */
+    Page<T> getPageResult(int pageSize, int pageNumber);
+
+    @Override
+    default List<T> getPage(int pageSize, int pageNumber) {
+        return getPageResult(pageSize, pageNumber).items();
+    }
+}
@@ -27,6 +27,11 @@ import java.util.List;
 @FunctionalInterface
 public interface PageSupplier<T> {
 
+    /**
+     * The page count value when the number of pages is not known.
+     */
+    int UNKNOWN_PAGE_COUNT = -1;
+
     /**
      * Gets the page of items corresponding to the given page size and page number.
      *
@@ -35,4 +40,16 @@ public interface PageSupplier<T> {
      * @return the list of items of the page
      */
     List<T> getPage(int pageSize, int pageNumber);
+
+    /**
+     * Gets the number of pages for the given page size, if it is known or can be discovered (like by a count query).
+     * <p>
+     * When the page count is known, the paged stream can be split over page ranges and run in parallel.
+     *
+     * @param pageSize the page size
+     * @return the number of pages, or {@link #UNKNOWN_PAGE_COUNT} if not known
+     */
+    default int getPageCount(int pageSize) {
+        return UNKNOWN_PAGE_COUNT;
+    }
 }
@@ -1,39 +1,65 @@
 /*
  * Copyright 2025 Cosinus Software
  *
- *  Licensed under the Apache License, Version 2.0 (the "License");
- *  you may not use this file except in compliance with the License.
- *  You may obtain a copy of the License at
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
  *
  *     http://www.apache.org/licenses/LICENSE-2.0
  *
- *  Unless required by applicable law or agreed to in writing, software
- *  distributed under the License is distributed on an "AS IS" BASIS,
- *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- *  See the License for the specific language governing permissions and
- *  limitations under the License.
- *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
  */
 
 package org.cosinus.stream.page;
 
+import java.time.Duration;
+import java.util.ArrayDeque;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Queue;
+import java.util.Spliterator;
 import java.util.Spliterators.AbstractSpliterator;
+import java.util.concurrent.Future;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import static java.lang.Long.MAX_VALUE;
+import static org.cosinus.stream.page.Page.UNKNOWN_TOTAL_COUNT;
+import static org.cosinus.stream.page.PageSupplier.UNKNOWN_PAGE_COUNT;
+import static org.cosinus.stream.page.PagingStrategy.DEFAULT_PAGING;
 
 /**
  * The spliterator implementation for streaming items in pages.
  * Useful when the source of items is a paged API.
+ * <p>
+ * If the paging strategy asks for prefetching, the next pages are requested in background
+ * while the current page is consumed, with a bounded number of pages in flight.
+ * <p>
+ * If the page supplier knows the page count, the spliterator can be split over page ranges,
+ * so the pages are fetched and processed in parallel, while still being encountered in the page order.
+ * <p>
+ * If the paging strategy asks for an adaptive page size, the page size follows the observed fetch latency.
+ * The pages are then requested by offset to an {@link OffsetPageSupplier},
+ * or by a page number matching the offset, for the other page suppliers.
+ * A paged stream with adaptive page size is not split over page ranges.
+ * <p>
+ * The stream ends after an empty page, after a page marked as the last one by a {@link PageResultSupplier},
+ * or after a page shorter than the requested page size if the paging strategy enables it.
+ * If the page supplier returns the total count of items, the spliterator does not request pages beyond it.
+ * It is also {@link #SIZED} and {@link #SUBSIZED} if the total count is {@link #resolveTotalCount() resolved}
+ * before the traversal starts, so its characteristics never change once created.
  *
  * @param <T> the type streamed items
  */
-public class PagedSpliterator<T> extends AbstractSpliterator<T> {
+public class PagedSpliterator<T> extends AbstractSpliterator<T> implements AutoCloseable {
+
+    private static final int DEFAULT_PAGE_SIZE = PagingStrategy.DEFAULT_PAGE_SIZE;
 
-    private static final int DEFAULT_PAGE_SIZE = 200;
+    private static final int UNBOUNDED = Integer.MAX_VALUE;
 
     private final PageSupplier<T> pageSupplier;
 
@@ -41,8 +67,32 @@ public class PagedSpliterator<T> extends AbstractSpliterator<T> {
 
     private final int pageSize;
 
+    private final int prefetchPages;
+
+    private final PageFetcher pageFetcher;
+
+    private final Queue<Future<Page<T>>> prefetchedPages;
+
+    private final AdaptivePageSize adaptivePageSize;
+
+    private final boolean shortPageLast;
+
+    private long offset;
+
+    private long position;
+
+    private long totalCount = UNKNOWN_TOTAL_COUNT;
+
+    private boolean lastPageReached;
+
     private int page = 1;
 
+    private int endPage = UNBOUNDED;
+
+    private boolean pageCountResolved;
+
+    private boolean sized;
+
     /**
      * Instantiates a new PagedSpliterator.
      *
@@ -59,11 +109,65 @@ public class PagedSpliterator<T> extends AbstractSpliterator<T> {
      * @param pageSize     the page size
      */
     public PagedSpliterator(final PageSupplier<T> pageSupplier, final int pageSize) {
+        this(pageSupplier, pageSize, DEFAULT_PAGING);
+    }
+
+    /**
+     * Instantiates a new PagedSpliterator.
+     *
+     * @param pageSupplier   the items page supplier
+     * @param pagingStrategy the paging strategy
+     */
+    public PagedSpliterator(final PageSupplier<T> pageSupplier, final PagingStrategy pagingStrategy) {
+        this(pageSupplier, pagingStrategy.getPageSize(), pagingStrategy);
+    }
+
+    private PagedSpliterator(final PageSupplier<T> pageSupplier,
+                             final int pageSize,
+                             final PagingStrategy pagingStrategy) {
         super(MAX_VALUE, ORDERED | NONNULL);
 
         this.pageSupplier = pageSupplier;
         this.pageSize = pageSize;
         this.activities = new LinkedList<>();
+        this.prefetchPages = pagingStrategy.getPrefetchPages();
+        this.pageFetcher = new PageFetcher(pagingStrategy);
+        this.prefetchedPages = new ArrayDeque<>();
+        this.adaptivePageSize = pagingStrategy.isAdaptivePageSize() ?
+            new AdaptivePageSize(pagingStrategy, !(pageSupplier instanceof OffsetPageSupplier)) :
+            null;
+        this.shortPageLast = pagingStrategy.isShortPageLast();
+    }
+
+    /**
+     * Instantiates a new PagedSpliterator split from the given one, for the given page range.
+     * <p>
+     * The items and the pages already requested by the given spliterator are moved to the new one.
+     *
+     * @param spliterator the spliterator to split
+     * @param fromPage    the first page of the range
+     * @param toPage      the page where the range ends, exclusive
+     */
+    private PagedSpliterator(final PagedSpliterator<T> spliterator, final int fromPage, final int toPage) {
+        super(MAX_VALUE, ORDERED | NONNULL);
+
+        this.pageSupplier = spliterator.pageSupplier;
+        this.pageSize = spliterator.pageSize;
+        this.prefetchPages = spliterator.prefetchPages;
+        this.pageFetcher = spliterator.pageFetcher;
+        this.adaptivePageSize = spliterator.adaptivePageSize;
+        this.shortPageLast = spliterator.shortPageLast;
+        this.totalCount = spliterator.totalCount;
+        this.sized = spliterator.sized;
+        this.position = spliterator.position;
+        this.activities = new LinkedList<>(spliterator.activities);
+        this.prefetchedPages = new ArrayDeque<>(spliterator.prefetchedPages);
+        this.page = fromPage;
+        this.endPage = toPage;
+        this.pageCountResolved = true;
+        spliterator.activities.clear();
+        spliterator.prefetchedPages.clear();
+        spliterator.position = (long) (toPage - 1) * getPageSize();
     }
 
     @Override
@@ -76,6 +180,7 @@ public class PagedSpliterator<T> extends AbstractSpliterator<T> {
             return false;
         }
 
+        position++;
         action.accept(activities.poll());
         return true;
     }
@@ -86,7 +191,171 @@ public class PagedSpliterator<T> extends AbstractSpliterator<T> {
      * @return the next page of items
      */
     protected List<T> getNextPage() {
-        return pageSupplier.getPage(getPageSize(), page++);
+        Page<T> nextPage;
+        if (prefetchPages <= 0) {
+            if (!hasNextPageRequest()) {
+                return List.of();
+            }
+            nextPage = pageFetcher.fetch(nextPageRequest());
+        } else {
+            prefetch();
+            Future<Page<T>> prefetchedPage = prefetchedPages.poll();
+            if (prefetchedPage == null) {
+                return List.of();
+            }
+            nextPage = PageFetcher.await(prefetchedPage);
+        }
+        return acceptPage(nextPage);
+    }
+
+    private List<T> acceptPage(final Page<T> nextPage) {
+        if (nextPage.isTotalCountKnown() && totalCount == UNKNOWN_TOTAL_COUNT) {
+            totalCount = nextPage.totalCount();
+            if (adaptivePageSize == null) {
+                int pageCount = (int) ((totalCount + getPageSize() - 1) / getPageSize());
+                endPage = Math.min(endPage, pageCount + 1);
+                pageCountResolved = true;
+            }
+        }
+        if (nextPage.isLast()) {
+            lastPageReached = true;
+            cancelPrefetch();
+        }
+        return nextPage.items();
+    }
+
+    /**
+     * Request in background the pages following the current one, up to the number of prefetched pages.
+     */
+    protected void prefetch() {
+        while (prefetchedPages.size() <= prefetchPages && hasNextPageRequest()) {
+            prefetchedPages.add(pageFetcher.submit(nextPageRequest()));
+        }
+    }
+
+    private boolean hasNextPageRequest() {
+        return !lastPageReached && page < endPage &&
+            (adaptivePageSize == null || totalCount == UNKNOWN_TOTAL_COUNT || offset < totalCount);
+    }
+
+    private Supplier<Page<T>> nextPageRequest() {
+        int nextPageSize = getPageSize();
+        int nextPage = page++;
+        Supplier<Page<T>> request;
+        if (adaptivePageSize == null) {
+            request = () -> fetchPage(nextPageSize, nextPage);
+        } else {
+            long pageOffset = offset;
+            offset += nextPageSize;
+            Supplier<Page<T>> offsetRequest = pageSupplier instanceof OffsetPageSupplier<T> offsetPageSupplier ?
+                () -> Page.of(offsetPageSupplier.getItems(pageOffset, nextPageSize)) :
+                () -> fetchPage(nextPageSize, (int) (pageOffset / nextPageSize) + 1);
+            request = () -> {
+                long start = System.nanoTime();
+                Page<T> fetchedPage = offsetRequest.get();
+                adaptivePageSize.observe(nextPageSize, Duration.ofNanos(System.nanoTime() - start));
+                return fetchedPage;
+            };
+        }
+
+        if (!shortPageLast) {
+            return request;
+        }
+        return () -> {
+            Page<T> fetchedPage = request.get();
+            return fetchedPage.items().size() < nextPageSize ? fetchedPage.asLast() : fetchedPage;
+        };
+    }
+
+    private Page<T> fetchPage(final int pageSize, final int pageNumber) {
+        return pageSupplier instanceof PageResultSupplier<T> pageResultSupplier ?
+            pageResultSupplier.getPageResult(pageSize, pageNumber) :
+            Page.of(pageSupplier.getPage(pageSize, pageNumber));
+    }
+
+    private void cancelPrefetch() {
+        Future<Page<T>> prefetchedPage;
+        while ((prefetchedPage = prefetchedPages.poll()) != null) {
+            prefetchedPage.cancel(true);
+        }
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        fetchFirstPageResult();
+        resolvePageCount();
+        if (endPage == UNBOUNDED || adaptivePageSize != null) {
+            return super.trySplit();
+        }
+
+        int remainingPages = endPage - page;
+        if (remainingPages < 2) {
+            return null;
+        }
+
+        int middlePage = page + remainingPages / 2;
+        PagedSpliterator<T> prefix = new PagedSpliterator<>(this, page, middlePage);
+        page = middlePage;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        if (totalCount != UNKNOWN_TOTAL_COUNT) {
+            long endPosition = adaptivePageSize == null && endPage != UNBOUNDED ?
+                Math.min(totalCount, (long) (endPage - 1) * getPageSize()) :
+                totalCount;
+            return Math.max(0, endPosition - position);
+        }
+        return endPage == UNBOUNDED ?
+            MAX_VALUE :
+            ((long) endPage - page + prefetchedPages.size()) * getPageSize() + activities.size();
+    }
+
+    /**
+     * Get the characteristics of the spliterator, without fetching any page.
+     * <p>
+     * The spliterator is reported as sized only if the total count was resolved before the traversal started.
+     *
+     * @return the characteristics
+     */
+    @Override
+    public int characteristics() {
+        return sized ?
+            super.characteristics() | SIZED | SUBSIZED :
+            super.characteristics();
+    }
+
+    /**
+     * Fetch the first page of a page supplier returning page metadata, to know the total count of items
+     * before the stream is created, so the spliterator is sized from the start if the total count is returned.
+     * <p>
+     * It has no effect once the traversal started, or if the page supplier is not a {@link PageResultSupplier}.
+     */
+    public void resolveTotalCount() {
+        boolean notStarted = page == 1 && position == 0 && activities.isEmpty();
+        fetchFirstPageResult();
+        if (notStarted) {
+            sized = totalCount != UNKNOWN_TOTAL_COUNT;
+        }
+    }
+
+    private void fetchFirstPageResult() {
+        if (page == 1 && totalCount == UNKNOWN_TOTAL_COUNT && pageSupplier instanceof PageResultSupplier &&
+            hasNextPageRequest()) {
+            // the next pages are prefetched only once the traversal starts
+            activities.addAll(acceptPage(pageFetcher.fetch(nextPageRequest())));
+        }
+    }
+
+    private void resolvePageCount() {
+        if (!pageCountResolved && adaptivePageSize == null) {
+            pageCountResolved = true;
+            int pageCount = pageSupplier.getPageCount(getPageSize());
+            if (pageCount != UNKNOWN_PAGE_COUNT) {
+                endPage = pageCount + 1;
+            }
+        }
     }
 
     /**
@@ -95,6 +364,15 @@ public class PagedSpliterator<T> extends AbstractSpliterator<T> {
      * @return the page size
      */
     protected int getPageSize() {
-        return pageSize;
+        return adaptivePageSize != null ? adaptivePageSize.pageSizeAt(offset) : pageSize;
+    }
+
+    /**
+     * Cancel the pages requested in background and release the background threads.
+     */
+    @Override
+    public void close() {
+        cancelPrefetch();
+        pageFetcher.close();
     }
 }
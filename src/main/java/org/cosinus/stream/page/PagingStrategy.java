@@ -0,0 +1,114 @@
+/*
+ * Copyright 2025 Cosinus Software
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.cosinus.stream.page;
+
+import org.cosinus.stream.StreamingStrategy;
+
+import java.time.Duration;
+
+/**
+ * The paging strategy.
+ */
+public interface PagingStrategy extends StreamingStrategy {
+
+    /**
+     * The default paging strategy constant
+     */
+    PagingStrategy DEFAULT_PAGING = new PagingStrategy() {};
+
+    /**
+     * The default page size.
+     */
+    int DEFAULT_PAGE_SIZE = 200;
+
+    /**
+     * The default target latency of fetching a page, when the page size is adaptive.
+     */
+    Duration DEFAULT_TARGET_FETCH_LATENCY = Duration.ofMillis(500);
+
+    /**
+     * Gets the page size.
+     *
+     * @return the page size
+     */
+    default int getPageSize() {
+        return DEFAULT_PAGE_SIZE;
+    }
+
+    /**
+     * Gets the number of pages to fetch in background ahead of the page being consumed.
+     *
+     * @return the number of prefetched pages, or 0 to fetch every page only when needed
+     */
+    default int getPrefetchPages() {
+        return 0;
+    }
+
+    /**
+     * Ask if a page shorter than the requested page size is the last one.
+     * <p>
+     * This saves the request of an empty page at the end of the stream,
+     * but it is safe only if the paged source never returns short pages before the end,
+     * so it has to be explicitly enabled. Without it, the stream ends at the first empty page,
+     * or at a page marked as the last one by a {@link PageResultSupplier}.
+     *
+     * @return true if a short page ends the paged stream
+     */
+    default boolean isShortPageLast() {
+        return false;
+    }
+
+    /**
+     * Ask if the page size should adapt to the observed fetch latency.
+     * <p>
+     * The page size starts at {@link #getPageSize()} and then grows or shrinks
+     * between {@link #getMinPageSize()} and {@link #getMaxPageSize()}, aiming at {@link #getTargetFetchLatency()}.
+     *
+     * @return true if the page size is adaptive
+     */
+    default boolean isAdaptivePageSize() {
+        return false;
+    }
+
+    /**
+     * Gets the minimum page size, when the page size is adaptive.
+     *
+     * @return the minimum page size
+     */
+    default int getMinPageSize() {
+        return Math.max(1, getPageSize() / 16);
+    }
+
+    /**
+     * Gets the maximum page size, when the page size is adaptive.
+     *
+     * @return the maximum page size
+     */
+    default int getMaxPageSize() {
+        return getPageSize() * 64;
+    }
+
+    /**
+     * Gets the target latency of fetching a page, when the page size is adaptive.
+     *
+     * @return the target fetch latency
+     */
+    default Duration getTargetFetchLatency() {
+        return DEFAULT_TARGET_FETCH_LATENCY;
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2025 Cosinus Software
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.cosinus.stream.pipeline.json;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.cosinus.stream.json.JsonMapping;
+import org.cosinus.stream.json.JsonStreamConsumer;
+import org.cosinus.stream.pipeline.Pipeline;
+
+import java.io.OutputStream;
+import java.util.stream.Stream;
+
+/**
+ * Interface for a pipeline which writes the streamed values as json.
+ *
+ * @param <T> the type of the streamed values
+ */
+public interface JsonPipeline<T> extends Pipeline<T, Stream<T>, JsonStreamConsumer<T>, JsonPipelineStrategy> {
+
+    @Override
+    default JsonStreamConsumer<T> openPipelineOutputStream(final JsonPipelineStrategy pipelineStrategy) {
+        return new JsonStreamConsumer<>(
+            outputStream(),
+            objectWriter(),
+            pipelineStrategy.getOutputFormat(),
+            pipelineStrategy.getFlushThreshold(),
+            pipelineStrategy.getBufferSize());
+    }
+
+    /**
+     * Get the object writer used to write the values.
+     * <p>
+     * The default writer is the cached writer for the element type,
+     * so the values are serialized as declared by the pipeline rather than by their runtime class.
+     *
+     * @return the object writer
+     */
+    default ObjectWriter objectWriter() {
+        return JsonMapping.writer(elementType());
+    }
+
+    /**
+     * Get the type of the streamed values.
+     *
+     * @return the element type
+     */
+    Class<T> elementType();
+
+    /**
+     * Get the output stream.
+     *
+     * @return the output stream
+     */
+    OutputStream outputStream();
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2025 Cosinus Software
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.cosinus.stream.pipeline.json;
+
+import org.cosinus.stream.json.JsonOutputFormat;
+import org.cosinus.stream.json.JsonStreamConsumer;
+import org.cosinus.stream.pipeline.PipelineStrategy;
+
+import static org.cosinus.stream.json.JsonOutputFormat.LINES;
+
+/**
+ * The pipeline strategy for json pipeline.
+ */
+public interface JsonPipelineStrategy extends PipelineStrategy {
+
+    /**
+     * Gets the json output format.
+     *
+     * @return the json output format
+     */
+    default JsonOutputFormat getOutputFormat() {
+        return LINES;
+    }
+
+    /**
+     * Gets the number of values after which the output is flushed.
+     *
+     * @return the flush threshold, or 0 to flush only when the output buffer is full
+     */
+    default int getFlushThreshold() {
+        return 0;
+    }
+
+    /**
+     * Gets the size of the output buffer.
+     *
+     * @return the output buffer size
+     */
+    default int getBufferSize() {
+        return JsonStreamConsumer.DEFAULT_BUFFER_SIZE;
+    }
+}
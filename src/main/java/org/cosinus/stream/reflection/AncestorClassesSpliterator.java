@@ -19,8 +19,12 @@ package org.cosinus.stream.reflection;
 
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.Queue;
+import java.util.Set;
 import java.util.Spliterators.AbstractSpliterator;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -34,21 +38,38 @@ import static java.util.stream.Stream.ofNullable;
 
 /**
  * A spliterator for streaming all ancestor classes and interfaces of a given object.
+ * <p>
+ * An ancestor reached by several paths, like an interface of a diamond hierarchy,
+ * is streamed and analyzed only once for the same generic classes.
  */
 public class AncestorClassesSpliterator extends AbstractSpliterator<ClassDescriptor<?>> {
 
     private final Queue<ClassDescriptor<?>> typesQueue;
 
+    private final Set<AncestorKey> visitedAncestors;
+
     /**
      * Instantiates a new AncestorClassesSpliterator.
      *
      * @param object the object to analyze
      */
     public AncestorClassesSpliterator(final Object object) {
+        this(object.getClass());
+    }
+
+    /**
+     * Instantiates a new AncestorClassesSpliterator.
+     *
+     * @param type the class to analyze
+     */
+    public AncestorClassesSpliterator(final Class<?> type) {
         super(MAX_VALUE, ORDERED | NONNULL);
 
         this.typesQueue = new ConcurrentLinkedQueue<>();
-        this.typesQueue.add(new ClassDescriptor<>(object.getClass()));
+        this.visitedAncestors = new HashSet<>();
+        ClassDescriptor<?> classDescriptor = new ClassDescriptor<>(type);
+        this.visitedAncestors.add(AncestorKey.of(classDescriptor));
+        this.typesQueue.add(classDescriptor);
     }
 
     @Override
@@ -59,11 +80,12 @@ public class AncestorClassesSpliterator extends AbstractSpliterator<ClassDescrip
         }
 
         Class<?> nextClass = nextClassDescriptor.getMainClass();
-        Class<?>[] genericClasses = nextClassDescriptor.getGenericClasses();
+        Class<?>[] genericClasses = nextClassDescriptor.genericClasses();
 
         concat(stream(nextClass.getGenericInterfaces()), Stream.of(nextClass.getGenericSuperclass()))
             .filter(Objects::nonNull)
             .map(type -> createClassDescriptor(type, genericClasses))
+            .filter(classDescriptor -> visitedAncestors.add(AncestorKey.of(classDescriptor)))
             .forEach(typesQueue::add);
 
         action.accept(nextClassDescriptor);
@@ -74,10 +96,9 @@ public class AncestorClassesSpliterator extends AbstractSpliterator<ClassDescrip
         Class<?> mainClass = (Class<?>) (type instanceof ParameterizedType parameterizedType ?
             parameterizedType.getRawType() :
             type);
-        ClassDescriptor<?> classDescriptor = new ClassDescriptor<>(mainClass, type);
-        if (classDescriptor.getType() instanceof ParameterizedType parameterizedType) {
+        if (type instanceof ParameterizedType parameterizedType) {
             AtomicInteger genericIndex = new AtomicInteger();
-            classDescriptor.setGenericClasses(stream(parameterizedType.getActualTypeArguments())
+            return new ClassDescriptor<>(mainClass, type, stream(parameterizedType.getActualTypeArguments())
                 .map(genericType ->
                     genericType instanceof Class<?> genericClass ? genericClass :
                         genericType instanceof ParameterizedType genericParameterizedType ?
@@ -91,6 +112,21 @@ public class AncestorClassesSpliterator extends AbstractSpliterator<ClassDescrip
                 .toArray(Class<?>[]::new));
         }
 
-        return classDescriptor;
+        return new ClassDescriptor<>(mainClass, type);
+    }
+
+    /**
+     * The key of an analyzed ancestor.
+     *
+     * @param type           the ancestor type
+     * @param genericClasses the resolved generic classes of the ancestor
+     */
+    private record AncestorKey(Type type, List<Class<?>> genericClasses) {
+
+        static AncestorKey of(final ClassDescriptor<?> classDescriptor) {
+            Class<?>[] genericClasses = classDescriptor.genericClasses();
+            return new AncestorKey(classDescriptor.getType(),
+                genericClasses != null ? Arrays.asList(genericClasses) : List.of());
+        }
     }
 }
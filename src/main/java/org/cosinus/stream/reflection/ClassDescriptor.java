@@ -17,26 +17,29 @@
 
 package org.cosinus.stream.reflection;
 
+import lombok.AccessLevel;
 import lombok.Getter;
-import lombok.Setter;
 
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 
 /**
  * The class descriptor.
+ * <p>
+ * The descriptor is immutable, so the descriptors of the ancestors of a class can be shared.
+ * The generic classes are given to the constructor and returned as a copy.
  *
  * @param <T> the type od class
  */
 @Getter
-@Setter
 public class ClassDescriptor<T> {
 
     private final Class<T> mainClass;
 
     private final Type type;
 
-    private Class<?>[] genericClasses;
+    @Getter(AccessLevel.NONE)
+    private final Class<?>[] genericClasses;
 
     /**
      * Instantiates a new ClassDescriptor.
@@ -44,8 +47,7 @@ public class ClassDescriptor<T> {
      * @param mainClass the main class
      */
     public ClassDescriptor(final Class<T> mainClass) {
-        this.mainClass = mainClass;
-        this.type = mainClass;
+        this(mainClass, mainClass, null);
     }
 
     /**
@@ -55,8 +57,54 @@ public class ClassDescriptor<T> {
      * @param type      the type
      */
     public ClassDescriptor(final Class<T> mainClass, final Type type) {
+        this(mainClass, type, null);
+    }
+
+    /**
+     * Instantiates a new ClassDescriptor.
+     *
+     * @param mainClass      the main class
+     * @param type           the type
+     * @param genericClasses the resolved generic classes, or null
+     */
+    public ClassDescriptor(final Class<T> mainClass, final Type type, final Class<?>[] genericClasses) {
         this.mainClass = mainClass;
         this.type = type;
+        this.genericClasses = genericClasses != null ? genericClasses.clone() : null;
+    }
+
+    /**
+     * Gets the resolved generic classes.
+     *
+     * @return a copy of the resolved generic classes, or null if not parametrized
+     */
+    public Class<?>[] getGenericClasses() {
+        return genericClasses != null ? genericClasses.clone() : null;
+    }
+
+    /**
+     * Sets the resolved generic classes.
+     * <p>
+     * The descriptors are shared by all the ancestor streams of a class, so they cannot be modified.
+     *
+     * @param genericClasses the resolved generic classes
+     * @throws UnsupportedOperationException always
+     * @deprecated the descriptor is immutable,
+     * the generic classes are given to the {@link #ClassDescriptor(Class, Type, Class[]) constructor} instead
+     */
+    @Deprecated(forRemoval = true)
+    public void setGenericClasses(final Class<?>[] genericClasses) {
+        throw new UnsupportedOperationException(
+            "Immutable class descriptor, the generic classes are given to the constructor");
+    }
+
+    /**
+     * Gets the resolved generic classes without copying them, for the readers of this package.
+     *
+     * @return the shared resolved generic classes, which must not be modified, or null if not parametrized
+     */
+    Class<?>[] genericClasses() {
+        return genericClasses;
     }
 
     /**
@@ -41,7 +41,7 @@ public record ParametrizedTypeWithGenericsPredicate(Class<?> parametrizedClass,
             .filter(ClassDescriptor::isParametrized)
             .filter(classDescriptor ->
                 parametrizedClass.equals(classDescriptor.getMainClass()))
-            .map(ClassDescriptor::getGenericClasses)
+            .map(ClassDescriptor::genericClasses)
             .filter(types -> types.length == genericClasses.length)
             .filter(types -> range(0, genericClasses.length)
                 .allMatch(index -> isGenericClass(types[index], genericClasses[index])))
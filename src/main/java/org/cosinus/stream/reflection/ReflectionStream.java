@@ -17,6 +17,7 @@
 
 package org.cosinus.stream.reflection;
 
+import java.util.Arrays;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -25,6 +26,17 @@ import java.util.stream.StreamSupport;
  */
 public final class ReflectionStream {
 
+    /**
+     * The ancestors of every class, analyzed once per class.
+     */
+    private static final ClassValue<ClassDescriptor<?>[]> ANCESTORS = new ClassValue<>() {
+        @Override
+        protected ClassDescriptor<?>[] computeValue(final Class<?> type) {
+            return StreamSupport.stream(new AncestorClassesSpliterator(type), false)
+                .toArray(ClassDescriptor<?>[]::new);
+        }
+    };
+
     /**
      * Get the stream of ancestor classes and interfaces of the given object.
      *
@@ -32,7 +44,19 @@ public final class ReflectionStream {
      * @return the ancestors stream
      */
     public static Stream<ClassDescriptor<?>> ancestorStream(Object object) {
-        return StreamSupport.stream(new AncestorClassesSpliterator(object), false);
+        return classAncestorStream(object.getClass());
+    }
+
+    /**
+     * Get the stream of ancestor classes and interfaces of the given class.
+     * <p>
+     * The ancestors are analyzed once per class and cached, so the stream iterates over immutable descriptors.
+     *
+     * @param type the class to analyze
+     * @return the ancestors stream
+     */
+    public static Stream<ClassDescriptor<?>> classAncestorStream(Class<?> type) {
+        return Arrays.stream(ANCESTORS.get(type));
     }
 
     private ReflectionStream() {
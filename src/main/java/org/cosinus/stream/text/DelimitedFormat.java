@@ -0,0 +1,73 @@
+/*
+ * Copyright 2025 Cosinus Software
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.cosinus.stream.text;
+
+/**
+ * The format of delimited text records (like CSV or TSV).
+ *
+ * @param delimiter       the character separating the fields
+ * @param quote           the character enclosing quoted fields, or {@link #NO_CHAR} if quoting is not supported
+ * @param escape          the character escaping the next character, or {@link #NO_CHAR} if escaping is not supported;
+ *                        when equal to the quote, a quote inside a quoted field is escaped by doubling it
+ * @param multilineQuotes true if a quoted field can contain line breaks, so it can span multiple text lines
+ */
+public record DelimitedFormat(char delimiter, char quote, char escape, boolean multilineQuotes) {
+
+    /**
+     * The character value used for an unsupported quote or escape.
+     */
+    public static final char NO_CHAR = '\0';
+
+    /**
+     * The comma separated values format, as described by RFC 4180.
+     */
+    public static final DelimitedFormat CSV = new DelimitedFormat(',', '"', '"', true);
+
+    /**
+     * The tab separated values format, using backslash escapes (like {@code \t} or {@code \n}) and no quoting.
+     */
+    public static final DelimitedFormat TSV = new DelimitedFormat('\t', NO_CHAR, '\\', false);
+
+    /**
+     * Get a format similar to CSV but using the given delimiter.
+     *
+     * @param delimiter the delimiter
+     * @return the delimited format
+     */
+    public static DelimitedFormat delimitedBy(final char delimiter) {
+        return new DelimitedFormat(delimiter, CSV.quote(), CSV.escape(), CSV.multilineQuotes());
+    }
+
+    /**
+     * Ask if quoting is supported.
+     *
+     * @return true if quoting is supported
+     */
+    public boolean isQuoting() {
+        return quote != NO_CHAR;
+    }
+
+    /**
+     * Ask if the escape character is a standalone one, not the doubled quote.
+     *
+     * @return true if the escape character escapes the next character
+     */
+    public boolean isEscaping() {
+        return escape != NO_CHAR && escape != quote;
+    }
+}
@@ -0,0 +1,355 @@
+/*
+ * Copyright 2025 Cosinus Software
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.cosinus.stream.text;
+
+import static java.util.Objects.checkIndex;
+
+/**
+ * A reusable record of delimited fields.
+ * <p>
+ * The fields are not copied out of the tokenized line: each field is an offset/length view
+ * either into the line itself, or into an internal buffer when the field had to be unescaped.
+ * The same instance is refilled for every tokenized line, so the fields are valid only until the next line
+ * is tokenized; use {@link #getString(int)} or {@link #toStrings()} to keep the values.
+ * <p>
+ * When a column projection is used, the field indexes are the indexes in the projection, not the column numbers.
+ */
+public class DelimitedRecord {
+
+    private final int[] offsets;
+
+    private final int[] lengths;
+
+    private final boolean[] unescaped;
+
+    private final StringBuilder unescapedBuffer;
+
+    private CharSequence line;
+
+    private int columnCount;
+
+    /**
+     * Instantiates a new DelimitedRecord.
+     *
+     * @param size the number of fields kept by the record
+     */
+    public DelimitedRecord(final int size) {
+        this.offsets = new int[size];
+        this.lengths = new int[size];
+        this.unescaped = new boolean[size];
+        this.unescapedBuffer = new StringBuilder();
+    }
+
+    /**
+     * Get the number of fields kept by the record.
+     *
+     * @return the number of fields
+     */
+    public int size() {
+        return offsets.length;
+    }
+
+    /**
+     * Get the number of columns scanned in the last tokenized line, including the ones not projected.
+     * <p>
+     * This can be lower than the actual number of columns in the line
+     * when the tokenizing stopped after the last projected column.
+     *
+     * @return the number of columns
+     */
+    public int getColumnCount() {
+        return columnCount;
+    }
+
+    /**
+     * Get the last tokenized line.
+     *
+     * @return the tokenized line
+     */
+    public CharSequence getLine() {
+        return line;
+    }
+
+    /**
+     * Ask if a field is present in the last tokenized line.
+     *
+     * @param index the field index
+     * @return true if the line had enough columns to contain the field
+     */
+    public boolean isPresent(final int index) {
+        return lengths[checkIndex(index, lengths.length)] >= 0;
+    }
+
+    /**
+     * Get the character sequence containing the given field.
+     * <p>
+     * This is either the tokenized line, or the internal buffer of unescaped fields.
+     *
+     * @param index the field index
+     * @return the source of the field
+     */
+    public CharSequence getSource(final int index) {
+        return unescaped[checkIndex(index, unescaped.length)] ? unescapedBuffer : line;
+    }
+
+    /**
+     * Get the offset of a field in its {@link #getSource(int) source}.
+     *
+     * @param index the field index
+     * @return the field offset
+     */
+    public int getOffset(final int index) {
+        return offsets[checkIndex(index, offsets.length)];
+    }
+
+    /**
+     * Get the length of a field, or -1 if the field is not present.
+     *
+     * @param index the field index
+     * @return the field length
+     */
+    public int getLength(final int index) {
+        return lengths[checkIndex(index, lengths.length)];
+    }
+
+    /**
+     * Ask if a field is empty or not present.
+     *
+     * @param index the field index
+     * @return true if the field is empty
+     */
+    public boolean isEmpty(final int index) {
+        return getLength(index) <= 0;
+    }
+
+    /**
+     * Get a character of a field.
+     *
+     * @param index    the field index
+     * @param position the position of the character in the field
+     * @return the character
+     */
+    public char charAt(final int index, final int position) {
+        return getSource(index).charAt(getOffset(index) + checkIndex(position, Math.max(getLength(index), 0)));
+    }
+
+    /**
+     * Check if a field has the same content as the given text.
+     *
+     * @param index the field index
+     * @param text  the text to compare with
+     * @return true if the field content equals the text
+     */
+    public boolean contentEquals(final int index, final CharSequence text) {
+        int length = getLength(index);
+        if (length != text.length()) {
+            return false;
+        }
+        CharSequence source = getSource(index);
+        int offset = getOffset(index);
+        for (int position = 0; position < length; position++) {
+            if (source.charAt(offset + position) != text.charAt(position)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Append a field to the given builder.
+     *
+     * @param index   the field index
+     * @param builder the builder
+     * @return the builder
+     */
+    public StringBuilder appendTo(final int index, final StringBuilder builder) {
+        int length = getLength(index);
+        if (length > 0) {
+            int offset = getOffset(index);
+            builder.append(getSource(index), offset, offset + length);
+        }
+        return builder;
+    }
+
+    /**
+     * Materialize a field as a string.
+     *
+     * @param index the field index
+     * @return the field value, or null if the field is not present
+     */
+    public String getString(final int index) {
+        int length = getLength(index);
+        if (length < 0) {
+            return null;
+        }
+        int offset = getOffset(index);
+        CharSequence source = getSource(index);
+        return source instanceof String text ?
+            text.substring(offset, offset + length) :
+            source.subSequence(offset, offset + length).toString();
+    }
+
+    /**
+     * Parse a field as a long value, without materializing it.
+     *
+     * @param index the field index
+     * @return the long value
+     * @throws NumberFormatException if the field is not a valid long value
+     */
+    public long getLong(final int index) {
+        int length = getLength(index);
+        if (length <= 0) {
+            throw new NumberFormatException("Not a number: empty field " + index);
+        }
+
+        CharSequence source = getSource(index);
+        int offset = getOffset(index);
+        int end = offset + length;
+        int position = offset;
+        char first = source.charAt(position);
+        boolean negative = first == '-';
+        if (negative || first == '+') {
+            if (++position == end) {
+                throw new NumberFormatException("Not a number: " + getString(index));
+            }
+        }
+
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long multiplyLimit = limit / 10;
+        long result = 0;
+        while (position < end) {
+            int digit = Character.digit(source.charAt(position++), 10);
+            if (digit < 0 || result < multiplyLimit) {
+                throw new NumberFormatException("Not a number: " + getString(index));
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                throw new NumberFormatException("Not a number: " + getString(index));
+            }
+            result -= digit;
+        }
+        return negative ? result : -result;
+    }
+
+    /**
+     * Parse a field as an int value, without materializing it.
+     *
+     * @param index the field index
+     * @return the int value
+     * @throws NumberFormatException if the field is not a valid int value
+     */
+    public int getInt(final int index) {
+        long value = getLong(index);
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new NumberFormatException("Not an int: " + getString(index));
+        }
+        return (int) value;
+    }
+
+    /**
+     * Parse a field as a double value.
+     *
+     * @param index the field index
+     * @return the double value
+     * @throws NumberFormatException if the field is not a valid double value
+     */
+    public double getDouble(final int index) {
+        String value = getString(index);
+        if (value == null) {
+            throw new NumberFormatException("Not a number: missing field " + index);
+        }
+        return Double.parseDouble(value);
+    }
+
+    /**
+     * Materialize all the fields as strings.
+     *
+     * @return the array of field values
+     */
+    public String[] toStrings() {
+        String[] values = new String[size()];
+        for (int index = 0; index < values.length; index++) {
+            values[index] = getString(index);
+        }
+        return values;
+    }
+
+    /**
+     * Clear the record before tokenizing a new line.
+     *
+     * @param line the line to be tokenized
+     */
+    void reset(final CharSequence line) {
+        this.line = line;
+        this.columnCount = 0;
+        this.unescapedBuffer.setLength(0);
+        for (int index = 0; index < lengths.length; index++) {
+            offsets[index] = 0;
+            lengths[index] = -1;
+            unescaped[index] = false;
+        }
+    }
+
+    /**
+     * Set a field pointing into the tokenized line.
+     *
+     * @param index  the field index
+     * @param offset the field offset in the line
+     * @param length the field length
+     */
+    void setField(final int index, final int offset, final int length) {
+        offsets[index] = offset;
+        lengths[index] = length;
+        unescaped[index] = false;
+    }
+
+    /**
+     * Start an unescaped field, to be appended to the internal buffer.
+     *
+     * @param index the field index
+     * @return the buffer to append the unescaped field content to
+     */
+    StringBuilder startUnescapedField(final int index) {
+        offsets[index] = unescapedBuffer.length();
+        unescaped[index] = true;
+        return unescapedBuffer;
+    }
+
+    /**
+     * End an unescaped field, after its content was appended to the internal buffer.
+     *
+     * @param index the field index
+     */
+    void endUnescapedField(final int index) {
+        lengths[index] = unescapedBuffer.length() - offsets[index];
+    }
+
+    /**
+     * Set the number of columns found in the tokenized line.
+     *
+     * @param columnCount the number of columns
+     */
+    void setColumnCount(final int columnCount) {
+        this.columnCount = columnCount;
+    }
+
+    @Override
+    public String toString() {
+        return String.join(",", toStrings());
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2025 Cosinus Software
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.cosinus.stream.text;
+
+import java.util.Spliterator;
+import java.util.Spliterators.AbstractSpliterator;
+import java.util.function.Consumer;
+
+import static java.lang.Long.MAX_VALUE;
+
+/**
+ * Spliterator for streaming delimited records out of a spliterator of text lines.
+ * <p>
+ * The same {@link DelimitedRecord} instance is provided for every line,
+ * so it should not be kept after the action on it returns.
+ */
+public class DelimitedSpliterator extends AbstractSpliterator<DelimitedRecord> {
+
+    private final Spliterator<String> lines;
+
+    private final DelimitedTokenizer tokenizer;
+
+    private final DelimitedRecord record;
+
+    private final StringBuilder multiline;
+
+    private String line;
+
+    /**
+     * Instantiates a new DelimitedSpliterator.
+     *
+     * @param lines     the spliterator of text lines
+     * @param tokenizer the tokenizer
+     */
+    public DelimitedSpliterator(final Spliterator<String> lines, final DelimitedTokenizer tokenizer) {
+        super(MAX_VALUE, ORDERED | NONNULL);
+        this.lines = lines;
+        this.tokenizer = tokenizer;
+        this.record = tokenizer.createRecord();
+        this.multiline = new StringBuilder();
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super DelimitedRecord> action) {
+        String nextLine = tryRead();
+        if (nextLine == null) {
+            return false;
+        }
+
+        if (!tokenizer.tokenize(nextLine, record, false)) {
+            tokenizeMultiline(nextLine);
+        }
+
+        action.accept(record);
+        return true;
+    }
+
+    /**
+     * Tokenize a record spanning multiple lines, because of line breaks inside a quoted field.
+     *
+     * @param firstLine the first line of the record
+     */
+    protected void tokenizeMultiline(final String firstLine) {
+        multiline.setLength(0);
+        multiline.append(firstLine);
+        boolean complete = false;
+        while (!complete) {
+            String nextLine = tryRead();
+            if (nextLine != null) {
+                multiline.append('\n').append(nextLine);
+            }
+            complete = tokenizer.tokenize(multiline, record, nextLine == null);
+        }
+    }
+
+    /**
+     * Try to read a new line.
+     * <p>
+     * If no line is available anymore, it should return null;
+     *
+     * @return the read line
+     */
+    protected String tryRead() {
+        line = null;
+        lines.tryAdvance(nextLine -> line = nextLine);
+        return line;
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2025 Cosinus Software
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.cosinus.stream.text;
+
+import org.cosinus.stream.StreamDelegate;
+
+import java.io.InputStream;
+import java.util.stream.Stream;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.StreamSupport.stream;
+
+/**
+ * The stream of delimited records tokenized from a stream of text lines.
+ * <p>
+ * The records are reused between lines, so the stream should be consumed sequentially
+ * and the records should not be collected without materializing their fields first.
+ */
+public class DelimitedStream extends StreamDelegate<DelimitedRecord> {
+
+    /**
+     * Instantiates a new DelimitedStream.
+     *
+     * @param delegate the delegate
+     */
+    public DelimitedStream(final Stream<DelimitedRecord> delegate) {
+        super(delegate);
+    }
+
+    /**
+     * Get the delimited stream of the given input stream, keeping only the given columns.
+     *
+     * @param inputStream the input stream
+     * @param format      the delimited format
+     * @param columns     the zero based numbers of the columns to keep
+     * @return the delimited stream
+     */
+    public static DelimitedStream of(final InputStream inputStream,
+                                     final DelimitedFormat format,
+                                     final int... columns) {
+        return of(TextStream.of(inputStream), format, columns);
+    }
+
+    /**
+     * Get the delimited stream of the given text lines, keeping only the given columns.
+     *
+     * @param lines   the text lines
+     * @param format  the delimited format
+     * @param columns the zero based numbers of the columns to keep
+     * @return the delimited stream
+     */
+    public static DelimitedStream of(final Stream<String> lines,
+                                     final DelimitedFormat format,
+                                     final int... columns) {
+        return of(lines, new DelimitedTokenizer(format, columns));
+    }
+
+    /**
+     * Get the delimited stream of the given text lines, using the given tokenizer.
+     *
+     * @param lines     the text lines
+     * @param tokenizer the tokenizer
+     * @return the delimited stream
+     */
+    public static DelimitedStream of(final Stream<String> lines, final DelimitedTokenizer tokenizer) {
+        requireNonNull(lines);
+        DelimitedSpliterator spliterator = new DelimitedSpliterator(lines.spliterator(), tokenizer);
+        return new DelimitedStream(stream(spliterator, false).onClose(lines::close));
+    }
+}
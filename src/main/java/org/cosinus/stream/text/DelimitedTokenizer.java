@@ -0,0 +1,247 @@
+/*
+ * Copyright 2025 Cosinus Software
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.cosinus.stream.text;
+
+import java.util.Arrays;
+
+import static java.util.stream.IntStream.range;
+
+/**
+ * Tokenizer of delimited text lines into a {@link DelimitedRecord}.
+ * <p>
+ * The tokenizer does not split the line into strings: it only records the offset and length of every field,
+ * and it copies a field only when it contains escaped characters.
+ * When a column projection is given, only the projected columns are kept,
+ * and the tokenizing stops as soon as the last projected column is reached, if the format allows it.
+ */
+public class DelimitedTokenizer {
+
+    private static final int NOT_PROJECTED = -1;
+
+    private static final int INCOMPLETE = -1;
+
+    private final DelimitedFormat format;
+
+    private final int[] indexByColumn;
+
+    private final int size;
+
+    /**
+     * Instantiates a new DelimitedTokenizer keeping all the columns up to the given column count.
+     *
+     * @param format      the delimited format
+     * @param columnCount the number of columns to keep
+     */
+    public DelimitedTokenizer(final DelimitedFormat format, final int columnCount) {
+        this(format, range(0, columnCount).toArray());
+    }
+
+    /**
+     * Instantiates a new DelimitedTokenizer keeping only the given columns.
+     * <p>
+     * The fields of the record will follow the order of the given columns.
+     *
+     * @param format  the delimited format
+     * @param columns the zero based numbers of the columns to keep, without duplicates
+     * @throws IllegalArgumentException if a column is negative or duplicated
+     */
+    public DelimitedTokenizer(final DelimitedFormat format, final int... columns) {
+        this.format = format;
+        this.size = columns.length;
+        this.indexByColumn = new int[Arrays.stream(columns).max().orElse(-1) + 1];
+        Arrays.fill(indexByColumn, NOT_PROJECTED);
+        for (int index = 0; index < columns.length; index++) {
+            if (columns[index] < 0) {
+                throw new IllegalArgumentException("Invalid column: " + columns[index]);
+            }
+            if (indexByColumn[columns[index]] != NOT_PROJECTED) {
+                throw new IllegalArgumentException("Duplicate column: " + columns[index]);
+            }
+            indexByColumn[columns[index]] = index;
+        }
+    }
+
+    /**
+     * Create a new record able to keep the fields of this tokenizer.
+     *
+     * @return the new record
+     */
+    public DelimitedRecord createRecord() {
+        return new DelimitedRecord(size);
+    }
+
+    /**
+     * Tokenize a line into the given record.
+     * <p>
+     * If the line ends inside a quoted field and the format allows multiline quotes,
+     * the line is incomplete and the next line should be appended to it before tokenizing again.
+     *
+     * @param line       the line to tokenize
+     * @param record     the record to fill
+     * @param endOfInput true if no more lines are available, so an unclosed quote ends with the line
+     * @return true if the line was tokenized, false if the line is incomplete
+     */
+    public boolean tokenize(final CharSequence line, final DelimitedRecord record, final boolean endOfInput) {
+        record.reset(line);
+        boolean allowIncomplete = format.multilineQuotes() && !endOfInput;
+        boolean stopEarly = !format.multilineQuotes() || endOfInput;
+        int length = line.length();
+        int column = 0;
+        int position = 0;
+        while (true) {
+            int index = column < indexByColumn.length ? indexByColumn[column] : NOT_PROJECTED;
+            position = format.isQuoting() && position < length && line.charAt(position) == format.quote() ?
+                tokenizeQuoted(line, position, index, record, allowIncomplete) :
+                tokenizeUnquoted(line, position, index, record);
+            if (position == INCOMPLETE) {
+                return false;
+            }
+            column++;
+            if (position >= length || stopEarly && column >= indexByColumn.length) {
+                break;
+            }
+            position++;
+        }
+        record.setColumnCount(column);
+        return true;
+    }
+
+    /**
+     * Tokenize a line into the given record, assuming no more lines are available.
+     *
+     * @param line   the line to tokenize
+     * @param record the record to fill
+     * @return the filled record
+     */
+    public DelimitedRecord tokenize(final CharSequence line, final DelimitedRecord record) {
+        tokenize(line, record, true);
+        return record;
+    }
+
+    private int tokenizeUnquoted(final CharSequence line,
+                                 final int start,
+                                 final int index,
+                                 final DelimitedRecord record) {
+        int length = line.length();
+        char delimiter = format.delimiter();
+        boolean escaping = format.isEscaping();
+        char escape = format.escape();
+        int position = start;
+        boolean escaped = false;
+        while (position < length) {
+            char c = line.charAt(position);
+            if (c == delimiter) {
+                break;
+            }
+            if (escaping && c == escape && position + 1 < length) {
+                escaped = true;
+                position++;
+            }
+            position++;
+        }
+
+        if (index != NOT_PROJECTED) {
+            if (escaped) {
+                unescape(line, start, position, index, record);
+            } else {
+                record.setField(index, start, position - start);
+            }
+        }
+        return position;
+    }
+
+    private int tokenizeQuoted(final CharSequence line,
+                               final int quoteStart,
+                               final int index,
+                               final DelimitedRecord record,
+                               final boolean allowIncomplete) {
+        int length = line.length();
+        char quote = format.quote();
+        char escape = format.escape();
+        boolean escaping = format.isEscaping();
+        boolean doubledQuotes = escape == quote;
+        int start = quoteStart + 1;
+        int position = start;
+        boolean escaped = false;
+        while (true) {
+            if (position >= length) {
+                if (allowIncomplete) {
+                    return INCOMPLETE;
+                }
+                break;
+            }
+            char c = line.charAt(position);
+            if (escaping && c == escape && position + 1 < length) {
+                escaped = true;
+                position += 2;
+            } else if (c == quote) {
+                if (doubledQuotes && position + 1 < length && line.charAt(position + 1) == quote) {
+                    escaped = true;
+                    position += 2;
+                } else {
+                    break;
+                }
+            } else {
+                position++;
+            }
+        }
+
+        int end = Math.min(position, length);
+        if (index != NOT_PROJECTED) {
+            if (escaped) {
+                unescape(line, start, end, index, record);
+            } else {
+                record.setField(index, start, end - start);
+            }
+        }
+
+        // be lenient with characters between the closing quote and the delimiter: they are ignored
+        position = end + 1;
+        char delimiter = format.delimiter();
+        while (position < length && line.charAt(position) != delimiter) {
+            position++;
+        }
+        return position;
+    }
+
+    private void unescape(final CharSequence line,
+                          final int start,
+                          final int end,
+                          final int index,
+                          final DelimitedRecord record) {
+        StringBuilder buffer = record.startUnescapedField(index);
+        char escape = format.escape();
+        boolean escaping = format.isEscaping();
+        for (int position = start; position < end; position++) {
+            char c = line.charAt(position);
+            if (c == escape && position + 1 < end) {
+                c = line.charAt(++position);
+                if (escaping) {
+                    c = switch (c) {
+                        case 't' -> '\t';
+                        case 'n' -> '\n';
+                        case 'r' -> '\r';
+                        default -> c;
+                    };
+                }
+            }
+            buffer.append(c);
+        }
+        record.endUnescapedField(index);
+    }
+}
@@ -0,0 +1,304 @@
+/*
+ * Copyright 2025 Cosinus Software
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.cosinus.stream.text;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Spliterators.AbstractSpliterator;
+import java.util.function.Consumer;
+
+import static java.lang.Long.MAX_VALUE;
+import static java.nio.file.Files.readAttributes;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.cosinus.stream.text.LineIndex.isAsciiCompatible;
+
+/**
+ * Spliterator for streaming the lines of a growing text file, like {@code tail -f}.
+ * <p>
+ * When the end of the file is reached, it waits for new data instead of ending,
+ * being notified by a {@link WatchService} on the file directory, or polling at the given interval
+ * when no notification arrives. A line is provided only when its line terminator was written.
+ * <p>
+ * The file rotation (the file is replaced by a new one) and truncation are detected at the end of the file:
+ * the streaming continues from the beginning of the new content.
+ * The streaming ends only when the spliterator is closed or the reading thread is interrupted.
+ * <p>
+ * The lines are split on the raw line feed byte and decoded only once complete,
+ * so a multibyte character split between two reads is decoded whole.
+ * This requires an ASCII compatible charset (like UTF-8 or ISO-8859-1),
+ * in which the line feed byte never occurs inside a multibyte character.
+ */
+public class FollowingTextSpliterator extends AbstractSpliterator<String> implements Closeable {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Path file;
+
+    private final Charset charset;
+
+    private final long pollIntervalMillis;
+
+    private final ByteBuffer buffer;
+
+    private final WatchService watchService;
+
+    private byte[] lineBytes;
+
+    private int lineLength;
+
+    private FileChannel channel;
+
+    private Object fileId;
+
+    private long position;
+
+    private String rotatedLine;
+
+    private boolean fromEnd;
+
+    private volatile boolean closed;
+
+    /**
+     * Instantiates a new FollowingTextSpliterator.
+     *
+     * @param file         the file to follow
+     * @param charset      the charset of the file
+     * @param fromEnd      true to start from the current end of the file, false to start from the beginning
+     * @param pollInterval the maximum time to wait before checking the file again for new data
+     * @throws IllegalArgumentException if the charset is not ASCII compatible
+     */
+    public FollowingTextSpliterator(final Path file,
+                                    final Charset charset,
+                                    final boolean fromEnd,
+                                    final Duration pollInterval) {
+        super(MAX_VALUE, ORDERED | NONNULL);
+        if (!isAsciiCompatible(charset)) {
+            throw new IllegalArgumentException("Charset is not ASCII compatible: " + charset);
+        }
+        this.file = file.toAbsolutePath();
+        this.charset = charset;
+        this.fromEnd = fromEnd;
+        this.pollIntervalMillis = Math.max(1, pollInterval.toMillis());
+        this.buffer = ByteBuffer.allocate(BUFFER_SIZE).flip();
+        this.lineBytes = new byte[256];
+        this.watchService = createWatchService(this.file.getParent());
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super String> action) {
+        String line = tryRead();
+        if (line == null) {
+            return false;
+        }
+
+        action.accept(line);
+        return true;
+    }
+
+    /**
+     * Try to read a new line, waiting for it to be written if needed.
+     * <p>
+     * It returns null only when the spliterator is closed or the reading thread is interrupted.
+     *
+     * @return the read line
+     */
+    protected String tryRead() {
+        try {
+            while (!closed) {
+                String line = rotatedLine != null ? takeRotatedLine() : scanLine();
+                if (line != null) {
+                    return line;
+                }
+                if (channel == null) {
+                    open();
+                }
+                if (channel != null && (fill() > 0 || checkReplaced())) {
+                    continue;
+                }
+                if (!awaitChange()) {
+                    return null;
+                }
+            }
+            return null;
+        } catch (IOException ex) {
+            if (closed) {
+                return null;
+            }
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private String scanLine() {
+        byte[] bytes = buffer.array();
+        int start = buffer.position();
+        int end = buffer.limit();
+        for (int index = start; index < end; index++) {
+            if (bytes[index] == '\n') {
+                appendToLine(bytes, start, index - start);
+                buffer.position(index + 1);
+                return takeLine();
+            }
+        }
+        appendToLine(bytes, start, end - start);
+        buffer.position(end);
+        return null;
+    }
+
+    private void appendToLine(final byte[] bytes, final int offset, final int length) {
+        if (lineLength + length > lineBytes.length) {
+            lineBytes = Arrays.copyOf(lineBytes, Math.max(lineBytes.length * 2, lineLength + length));
+        }
+        System.arraycopy(bytes, offset, lineBytes, lineLength, length);
+        lineLength += length;
+    }
+
+    private String takeRotatedLine() {
+        String line = rotatedLine;
+        rotatedLine = null;
+        return line;
+    }
+
+    private String takeLine() {
+        int length = lineLength > 0 && lineBytes[lineLength - 1] == '\r' ? lineLength - 1 : lineLength;
+        lineLength = 0;
+        return new String(lineBytes, 0, length, charset);
+    }
+
+    private int fill() throws IOException {
+        buffer.clear();
+        int read = channel.read(buffer, position);
+        buffer.flip();
+        if (read > 0) {
+            position += read;
+        }
+        return read;
+    }
+
+    private void open() throws IOException {
+        try {
+            BasicFileAttributes attributes = readAttributes(file, BasicFileAttributes.class);
+            channel = FileChannel.open(file, READ);
+            fileId = fileId(attributes);
+            position = fromEnd ? channel.size() : 0;
+        } catch (NoSuchFileException ex) {
+            channel = null;
+        }
+        fromEnd = false;
+    }
+
+    /**
+     * Check if the followed file was rotated or truncated, and if so, restart from the beginning of the new content.
+     *
+     * @return true if the file was replaced or truncated
+     * @throws IOException if the file cannot be checked or reopened
+     */
+    private boolean checkReplaced() throws IOException {
+        BasicFileAttributes attributes;
+        try {
+            attributes = readAttributes(file, BasicFileAttributes.class);
+        } catch (NoSuchFileException ex) {
+            return false;
+        }
+
+        if (!Objects.equals(fileId, fileId(attributes))) {
+            if (lineLength > 0) {
+                rotatedLine = takeLine();
+            }
+            channel.close();
+            channel = null;
+            open();
+            return true;
+        }
+
+        if (attributes.size() < position) {
+            position = 0;
+            lineLength = 0;
+            return true;
+        }
+        return false;
+    }
+
+    private Object fileId(final BasicFileAttributes attributes) {
+        return attributes.fileKey() != null ? attributes.fileKey() : attributes.creationTime();
+    }
+
+    /**
+     * Wait for a change in the file directory, or for the poll interval to elapse.
+     *
+     * @return false if the waiting was interrupted or the spliterator was closed
+     */
+    private boolean awaitChange() {
+        try {
+            if (watchService == null) {
+                Thread.sleep(pollIntervalMillis);
+            } else {
+                WatchKey key = watchService.poll(pollIntervalMillis, MILLISECONDS);
+                if (key != null) {
+                    key.pollEvents();
+                    key.reset();
+                }
+            }
+            return !closed;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ClosedWatchServiceException ex) {
+            return false;
+        }
+    }
+
+    private WatchService createWatchService(final Path directory) {
+        try {
+            WatchService newWatchService = directory.getFileSystem().newWatchService();
+            directory.register(newWatchService, ENTRY_CREATE, ENTRY_MODIFY);
+            return newWatchService;
+        } catch (IOException | UnsupportedOperationException ex) {
+            return null;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        try {
+            if (watchService != null) {
+                watchService.close();
+            }
+        } finally {
+            if (channel != null) {
+                channel.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2025 Cosinus Software
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.cosinus.stream.text;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.Queue;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+import static java.nio.file.StandardOpenOption.READ;
+import static org.cosinus.stream.text.LineIndex.isAsciiCompatible;
+
+/**
+ * Spliterator for streaming a range of lines of a text file using a {@link LineIndex}.
+ * <p>
+ * The reading starts directly at the closest indexed line before the first line of the range,
+ * and the spliterator can be split by line count at the indexed lines, so the ranges can be read in parallel.
+ * Every split opens its own reader, which is closed as soon as its range is read,
+ * or when the root spliterator is closed.
+ */
+public class IndexedTextSpliterator implements Spliterator<String>, Closeable {
+
+    private final Path file;
+
+    private final Charset charset;
+
+    private final LineIndex lineIndex;
+
+    private final Queue<BufferedReader> openReaders;
+
+    private long line;
+
+    private final long endLine;
+
+    private BufferedReader reader;
+
+    /**
+     * Instantiates a new IndexedTextSpliterator.
+     *
+     * @param file      the text file
+     * @param charset   the charset of the file
+     * @param lineIndex the line index of the file
+     * @param fromLine  the zero based number of the first line to stream
+     * @param toLine    the zero based number of the line where the streaming stops, exclusive
+     * @throws IllegalArgumentException if the charset is not ASCII compatible,
+     *                                  or if the file was changed since indexed
+     */
+    public IndexedTextSpliterator(final Path file,
+                                  final Charset charset,
+                                  final LineIndex lineIndex,
+                                  final long fromLine,
+                                  final long toLine) {
+        this(file, charset, lineIndex, fromLine, toLine, new ConcurrentLinkedQueue<>());
+        if (!isAsciiCompatible(charset)) {
+            throw new IllegalArgumentException("Charset is not ASCII compatible: " + charset);
+        }
+        if (!lineIndex.isValidFor(file)) {
+            throw new IllegalArgumentException("Line index not valid for the changed file: " + file);
+        }
+    }
+
+    private IndexedTextSpliterator(final Path file,
+                                   final Charset charset,
+                                   final LineIndex lineIndex,
+                                   final long fromLine,
+                                   final long toLine,
+                                   final Queue<BufferedReader> openReaders) {
+        this.file = file;
+        this.charset = charset;
+        this.lineIndex = lineIndex;
+        this.line = Math.max(fromLine, 0);
+        this.endLine = Math.min(toLine, lineIndex.getLineCount());
+        this.openReaders = openReaders;
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super String> action) {
+        if (line >= endLine) {
+            closeReader();
+            return false;
+        }
+
+        String nextLine = tryRead();
+        if (nextLine == null) {
+            line = endLine;
+            closeReader();
+            return false;
+        }
+
+        line++;
+        action.accept(nextLine);
+        return true;
+    }
+
+    @Override
+    public Spliterator<String> trySplit() {
+        if (reader != null) {
+            return null;
+        }
+
+        int interval = lineIndex.getInterval();
+        long middleLine = (line + (endLine - line) / 2) / interval * interval;
+        if (middleLine <= line || middleLine >= endLine) {
+            return null;
+        }
+
+        IndexedTextSpliterator prefix =
+            new IndexedTextSpliterator(file, charset, lineIndex, line, middleLine, openReaders);
+        line = middleLine;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return Math.max(endLine - line, 0);
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL | SIZED | SUBSIZED;
+    }
+
+    /**
+     * Try to read the next line, opening the reader at the closest indexed line if needed.
+     *
+     * @return the read line, or null if the end of the file was reached
+     */
+    protected String tryRead() {
+        try {
+            if (reader == null) {
+                reader = openReader();
+            }
+            return reader.readLine();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private BufferedReader openReader() throws IOException {
+        long indexedLine = lineIndex.indexedLineBefore(line);
+        FileChannel channel = FileChannel.open(file, READ).position(lineIndex.offsetBefore(line));
+        BufferedReader newReader = new BufferedReader(Channels.newReader(channel, charset));
+        openReaders.add(newReader);
+        for (long skipped = indexedLine; skipped < line; skipped++) {
+            newReader.readLine();
+        }
+        return newReader;
+    }
+
+    private void closeReader() {
+        if (reader != null) {
+            openReaders.remove(reader);
+            try {
+                reader.close();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            } finally {
+                reader = null;
+            }
+        }
+    }
+
+    /**
+     * Close the readers still opened by this spliterator and by the spliterators split from it.
+     *
+     * @throws IOException if a reader cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        BufferedReader openReader;
+        while ((openReader = openReaders.poll()) != null) {
+            openReader.close();
+        }
+        reader = null;
+    }
+}
@@ -0,0 +1,312 @@
+/*
+ * Copyright 2025 Cosinus Software
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.cosinus.stream.text;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.file.Files.readAttributes;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.util.Objects.checkIndex;
+
+/**
+ * Sparse index of the line offsets in a text file.
+ * <p>
+ * The index keeps the byte offset of every N-th line (N being the index interval),
+ * so a line can be reached by seeking to the closest indexed line before it
+ * and skipping less than N lines. The lines are zero based numbered and terminated,
+ * like for {@link java.io.BufferedReader#readLine()}, by {@code \n}, {@code \r} or {@code \r\n}.
+ * <p>
+ * The index can be persisted next to the indexed file and reused for as long as the file is not modified.
+ */
+public final class LineIndex {
+
+    /**
+     * The default interval between two indexed lines.
+     */
+    public static final int DEFAULT_INTERVAL = 1024;
+
+    /**
+     * The suffix of the index file persisted next to the indexed file.
+     */
+    public static final String INDEX_FILE_SUFFIX = ".lidx";
+
+    private static final int MAGIC = 0x4C494458;
+
+    private static final int VERSION = 1;
+
+    private static final int BUFFER_SIZE = 65536;
+
+    private final int interval;
+
+    private final long lineCount;
+
+    private final long fileSize;
+
+    private final long lastModified;
+
+    private final long[] offsets;
+
+    private LineIndex(final int interval,
+                      final long lineCount,
+                      final long fileSize,
+                      final long lastModified,
+                      final long[] offsets) {
+        this.interval = interval;
+        this.lineCount = lineCount;
+        this.fileSize = fileSize;
+        this.lastModified = lastModified;
+        this.offsets = offsets;
+    }
+
+    /**
+     * Build the index of the given file in one pass.
+     *
+     * @param file     the file to index
+     * @param interval the interval between two indexed lines
+     * @return the line index
+     * @throws UncheckedIOException if the file cannot be read
+     */
+    public static LineIndex build(final Path file, final int interval) {
+        if (interval <= 0) {
+            throw new IllegalArgumentException("Invalid line index interval: " + interval);
+        }
+
+        try (FileChannel channel = FileChannel.open(file, READ)) {
+            BasicFileAttributes attributes = readAttributes(file, BasicFileAttributes.class);
+            long[] offsets = new long[16];
+            int offsetCount = 1;
+            long lineCount = 0;
+            long position = 0;
+            byte lastByte = '\n';
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            byte[] bytes = buffer.array();
+            int read;
+            while ((read = channel.read(buffer.clear())) > 0) {
+                for (int index = 0; index < read; index++) {
+                    byte currentByte = bytes[index];
+                    if (currentByte == '\n' && lastByte == '\r') {
+                        // the line feed completes the line terminator already counted at the carriage return
+                        if (lineCount % interval == 0) {
+                            offsets[offsetCount - 1] = position + index + 1;
+                        }
+                    } else if ((currentByte == '\n' || currentByte == '\r') && ++lineCount % interval == 0) {
+                        if (offsetCount == offsets.length) {
+                            offsets = Arrays.copyOf(offsets, offsetCount * 2);
+                        }
+                        offsets[offsetCount++] = position + index + 1;
+                    }
+                    lastByte = currentByte;
+                }
+                position += read;
+            }
+
+            if (lastByte != '\n' && lastByte != '\r') {
+                lineCount++;
+            } else if (lineCount > 0 && lineCount % interval == 0) {
+                // the last indexed offset points to the end of the file, not to a line
+                offsetCount--;
+            }
+            return new LineIndex(interval, lineCount, position, attributes.lastModifiedTime().toMillis(),
+                Arrays.copyOf(offsets, offsetCount));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Load the index persisted next to the given file if it is still valid,
+     * otherwise build the index and persist it next to the file.
+     *
+     * @param file     the indexed file
+     * @param interval the interval between two indexed lines, used if the index needs to be built
+     * @return the line index
+     * @throws UncheckedIOException if the file cannot be read or the index cannot be persisted
+     */
+    public static LineIndex loadOrBuild(final Path file, final int interval) {
+        Path indexFile = indexFile(file);
+        if (Files.exists(indexFile)) {
+            LineIndex index = load(indexFile);
+            if (index.isValidFor(file)) {
+                return index;
+            }
+        }
+
+        LineIndex index = build(file, interval);
+        index.save(indexFile);
+        return index;
+    }
+
+    /**
+     * Load a persisted index.
+     *
+     * @param indexFile the index file
+     * @return the line index
+     * @throws UncheckedIOException if the index file cannot be read or is not a valid index
+     */
+    public static LineIndex load(final Path indexFile) {
+        try (DataInputStream input = new DataInputStream(Files.newInputStream(indexFile))) {
+            if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+                throw new IOException("Not a line index file: " + indexFile);
+            }
+            int interval = input.readInt();
+            long lineCount = input.readLong();
+            long fileSize = input.readLong();
+            long lastModified = input.readLong();
+            long[] offsets = new long[input.readInt()];
+            for (int index = 0; index < offsets.length; index++) {
+                offsets[index] = input.readLong();
+            }
+            return new LineIndex(interval, lineCount, fileSize, lastModified, offsets);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Persist the index.
+     * <p>
+     * The index is written to a temporary file first, so an existing index is replaced only by a complete one.
+     *
+     * @param indexFile the index file
+     * @throws UncheckedIOException if the index cannot be written
+     */
+    public void save(final Path indexFile) {
+        Path tempFile = indexFile.resolveSibling(indexFile.getFileName() + ".tmp");
+        try (DataOutputStream output = new DataOutputStream(Files.newOutputStream(tempFile))) {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeInt(interval);
+            output.writeLong(lineCount);
+            output.writeLong(fileSize);
+            output.writeLong(lastModified);
+            output.writeInt(offsets.length);
+            for (long offset : offsets) {
+                output.writeLong(offset);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        try {
+            Files.move(tempFile, indexFile, REPLACE_EXISTING, ATOMIC_MOVE);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Get the path of the index file persisted next to the given file.
+     *
+     * @param file the indexed file
+     * @return the index file
+     */
+    public static Path indexFile(final Path file) {
+        return file.resolveSibling(file.getFileName() + INDEX_FILE_SUFFIX);
+    }
+
+    /**
+     * Check if the index is still valid for the given file, based on the file size and modification time.
+     *
+     * @param file the indexed file
+     * @return true if the file was not changed since indexed
+     */
+    public boolean isValidFor(final Path file) {
+        try {
+            BasicFileAttributes attributes = readAttributes(file, BasicFileAttributes.class);
+            return attributes.size() == fileSize && attributes.lastModifiedTime().toMillis() == lastModified;
+        } catch (IOException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Get the interval between two indexed lines.
+     *
+     * @return the index interval
+     */
+    public int getInterval() {
+        return interval;
+    }
+
+    /**
+     * Get the number of lines in the indexed file.
+     *
+     * @return the line count
+     */
+    public long getLineCount() {
+        return lineCount;
+    }
+
+    /**
+     * Get the size of the indexed file.
+     *
+     * @return the file size
+     */
+    public long getFileSize() {
+        return fileSize;
+    }
+
+    /**
+     * Get the closest indexed line at or before the given line.
+     *
+     * @param line the zero based line number
+     * @return the indexed line number
+     */
+    public long indexedLineBefore(final long line) {
+        return checkIndex(line, Math.max(lineCount, 1)) / interval * interval;
+    }
+
+    /**
+     * Get the byte offset of the closest indexed line at or before the given line.
+     *
+     * @param line the zero based line number
+     * @return the byte offset of the indexed line
+     */
+    public long offsetBefore(final long line) {
+        return offsets[(int) (indexedLineBefore(line) / interval)];
+    }
+
+    /**
+     * Check if a charset encodes the ASCII characters as the same single bytes,
+     * so the lines of a text in this charset are delimited by the ASCII line terminator bytes.
+     *
+     * @param charset the charset
+     * @return true if the charset is ASCII compatible
+     */
+    static boolean isAsciiCompatible(final Charset charset) {
+        byte[] ascii = new byte[128];
+        for (int index = 0; index < ascii.length; index++) {
+            ascii[index] = (byte) index;
+        }
+        return charset.canEncode()
+            && Arrays.equals(ascii, new String(ascii, US_ASCII).getBytes(charset));
+    }
+}
@@ -18,8 +18,12 @@ package org.cosinus.stream.text;
 import org.cosinus.stream.StreamDelegate;
 
 import java.io.*;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.stream.Stream;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Objects.requireNonNull;
 import static java.util.stream.StreamSupport.stream;
 
@@ -28,15 +32,20 @@ import static java.util.stream.StreamSupport.stream;
  */
 public class TextStream extends StreamDelegate<String> {
 
-    private final BufferedReader reader;
+    /**
+     * The default interval for checking a followed file for new data, if no change notification arrives.
+     */
+    public static final Duration DEFAULT_FOLLOW_POLL_INTERVAL = Duration.ofMillis(250);
+
+    private final Closeable reader;
 
     /**
      * Instantiates a new TextStream.
      *
      * @param delegate the delegate
-     * @param reader   the reader
+     * @param reader   the reader, closed when the stream is closed
      */
-    public TextStream(final Stream<String> delegate, final BufferedReader reader) {
+    public TextStream(final Stream<String> delegate, final Closeable reader) {
         super(delegate);
         this.reader = reader;
     }
@@ -104,6 +113,75 @@ public class TextStream extends StreamDelegate<String> {
         return reader.lines();
     }
 
+    /**
+     * Get the text stream following the lines appended to the given UTF-8 file, like {@code tail -f}.
+     * <p>
+     * The stream starts from the beginning of the file and does not end when the end of the file is reached,
+     * but waits for new lines, until the stream is closed.
+     *
+     * @param file the file to follow
+     * @return the text stream
+     */
+    public static Stream<String> follow(final Path file) {
+        return follow(file, UTF_8, false, DEFAULT_FOLLOW_POLL_INTERVAL);
+    }
+
+    /**
+     * Get the text stream following the lines appended to the given file, like {@code tail -f}.
+     *
+     * @param file         the file to follow
+     * @param charset      the charset of the file
+     * @param fromEnd      true to stream only the lines appended after the current end of the file
+     * @param pollInterval the maximum time to wait before checking the file again for new data
+     * @return the text stream
+     */
+    public static Stream<String> follow(final Path file,
+                                        final Charset charset,
+                                        final boolean fromEnd,
+                                        final Duration pollInterval) {
+        requireNonNull(file);
+        FollowingTextSpliterator spliterator = new FollowingTextSpliterator(file, charset, fromEnd, pollInterval);
+        return new TextStream(stream(spliterator, false), spliterator);
+    }
+
+    /**
+     * Get the text stream of the given UTF-8 file starting at the given line, using a line index of the file.
+     * <p>
+     * The reading starts directly at the closest indexed line, without reading the previous lines.
+     * The stream can be run in parallel, being split by line count at the indexed lines.
+     *
+     * @param file      the text file
+     * @param lineIndex the line index of the file
+     * @param fromLine  the zero based number of the first line to stream
+     * @return the text stream
+     * @throws IllegalArgumentException if the file was changed since indexed
+     */
+    public static Stream<String> of(final Path file, final LineIndex lineIndex, final long fromLine) {
+        return of(file, UTF_8, lineIndex, fromLine, lineIndex.getLineCount());
+    }
+
+    /**
+     * Get the text stream of a range of lines of the given file, using a line index of the file.
+     *
+     * @param file      the text file
+     * @param charset   the charset of the file
+     * @param lineIndex the line index of the file
+     * @param fromLine  the zero based number of the first line to stream
+     * @param toLine    the zero based number of the line where the streaming stops, exclusive
+     * @return the text stream
+     * @throws IllegalArgumentException if the charset is not ASCII compatible,
+     *                                  or if the file was changed since indexed
+     */
+    public static Stream<String> of(final Path file,
+                                    final Charset charset,
+                                    final LineIndex lineIndex,
+                                    final long fromLine,
+                                    final long toLine) {
+        requireNonNull(file);
+        IndexedTextSpliterator spliterator = new IndexedTextSpliterator(file, charset, lineIndex, fromLine, toLine);
+        return new TextStream(stream(spliterator, false), spliterator);
+    }
+
     @Override
     public void close() {
         super.close();
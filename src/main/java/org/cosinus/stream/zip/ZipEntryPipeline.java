@@ -0,0 +1,143 @@
+/*
+ * Copyright 2025 Cosinus Software
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.cosinus.stream.zip;
+
+import org.cosinus.stream.error.SkipPipelineConsumeException;
+import org.cosinus.stream.pipeline.PipelineListener;
+import org.cosinus.stream.pipeline.binary.BinaryPipeline;
+import org.cosinus.stream.pipeline.binary.BinaryPipelineStrategy;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Binary pipeline inflating an entry of an open {@link ZipFile} into a target file.
+ * <p>
+ * The pipelines of several entries of the same ZIP file can be consumed concurrently,
+ * each one reading its entry through the random access of the ZIP file.
+ */
+public class ZipEntryPipeline implements BinaryPipeline {
+
+    private final ZipFile zipFile;
+
+    private final ZipEntry entry;
+
+    private final Path target;
+
+    private final BinaryPipelineStrategy pipelineStrategy;
+
+    private final PipelineListener<byte[]> pipelineListener;
+
+    private volatile boolean skipped;
+
+    /**
+     * Instantiates a new ZipEntryPipeline.
+     *
+     * @param zipFile          the open ZIP file
+     * @param entry            the entry to inflate
+     * @param target           the target file
+     * @param pipelineStrategy the pipeline strategy
+     * @param pipelineListener the pipeline listener, or null
+     */
+    public ZipEntryPipeline(final ZipFile zipFile,
+                            final ZipEntry entry,
+                            final Path target,
+                            final BinaryPipelineStrategy pipelineStrategy,
+                            final PipelineListener<byte[]> pipelineListener) {
+        this.zipFile = zipFile;
+        this.entry = entry;
+        this.target = target;
+        this.pipelineStrategy = pipelineStrategy;
+        this.pipelineListener = pipelineListener;
+    }
+
+    /**
+     * Gets the target file.
+     *
+     * @return the target file
+     */
+    public Path getTarget() {
+        return target;
+    }
+
+    /**
+     * Check if the entry was skipped because its target file already exists.
+     *
+     * @return true if the entry was skipped
+     */
+    public boolean isSkipped() {
+        return skipped;
+    }
+
+    @Override
+    public BinaryPipelineStrategy getPipelineStrategy() {
+        return pipelineStrategy;
+    }
+
+    @Override
+    public PipelineListener<byte[]> getPipelineListener() {
+        return pipelineListener;
+    }
+
+    @Override
+    public void preparePipelineOpen(final BinaryPipelineStrategy pipelineStrategy,
+                                    final PipelineListener<byte[]> pipelineListener) {
+        if (pipelineStrategy.shouldSkipExistingTarget() && Files.exists(target)) {
+            skipped = true;
+            throw new SkipPipelineConsumeException(Math.max(0, entry.getSize()));
+        }
+    }
+
+    @Override
+    public InputStream inputStream() {
+        try {
+            return zipFile.getInputStream(entry);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot read the entry " + entry.getName(), ex);
+        }
+    }
+
+    @Override
+    public OutputStream outputStream(final boolean append) {
+        try {
+            return Files.newOutputStream(target, CREATE, WRITE, append ? APPEND : TRUNCATE_EXISTING);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot write the file " + target, ex);
+        }
+    }
+
+    @Override
+    public long outputSize() {
+        try {
+            return Files.exists(target) ? Files.size(target) : 0;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot read the size of " + target, ex);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2025 Cosinus Software
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.cosinus.stream.zip;
+
+import org.cosinus.stream.pipeline.PipelineListener;
+import org.cosinus.stream.pipeline.binary.BinaryPipelineStrategy;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+
+import static java.util.concurrent.Executors.newVirtualThreadPerTaskExecutor;
+
+/**
+ * Extractor of ZIP archives into a target directory, inflating the entries in parallel.
+ * <p>
+ * The archive is opened once through a {@link ZipFile}, and every file entry is inflated
+ * by a {@link ZipEntryPipeline} consumed on its own virtual thread, so the blocking writes
+ * do not occupy the common fork join pool.
+ * The number of entries inflated at once is limited, by default to the number of available processors,
+ * so a large archive does not open as many target files at the same time.
+ * All the entries are checked to resolve inside the target directory before anything is extracted,
+ * so an archive with an entry like {@code ../../file} is rejected as a whole.
+ * The nested archives are extracted as files.
+ */
+public class ZipExtractor {
+
+    private static final int DEFAULT_MAX_CONCURRENT_ENTRIES = Runtime.getRuntime().availableProcessors();
+
+    private final BinaryPipelineStrategy pipelineStrategy;
+
+    private final PipelineListener<byte[]> pipelineListener;
+
+    private final int maxConcurrentEntries;
+
+    /**
+     * Instantiates a new ZipExtractor with the default pipeline strategy.
+     */
+    public ZipExtractor() {
+        this(new BinaryPipelineStrategy() {}, null);
+    }
+
+    /**
+     * Instantiates a new ZipExtractor.
+     *
+     * @param pipelineStrategy the pipeline strategy of the entry pipelines
+     * @param pipelineListener the pipeline listener of the entry pipelines, called concurrently, or null
+     */
+    public ZipExtractor(final BinaryPipelineStrategy pipelineStrategy,
+                        final PipelineListener<byte[]> pipelineListener) {
+        this(pipelineStrategy, pipelineListener, DEFAULT_MAX_CONCURRENT_ENTRIES);
+    }
+
+    /**
+     * Instantiates a new ZipExtractor.
+     *
+     * @param pipelineStrategy     the pipeline strategy of the entry pipelines
+     * @param pipelineListener     the pipeline listener of the entry pipelines, called concurrently, or null
+     * @param maxConcurrentEntries the maximum number of entries inflated at the same time
+     * @throws IllegalArgumentException if the maximum number of concurrent entries is not positive
+     */
+    public ZipExtractor(final BinaryPipelineStrategy pipelineStrategy,
+                        final PipelineListener<byte[]> pipelineListener,
+                        final int maxConcurrentEntries) {
+        if (maxConcurrentEntries <= 0) {
+            throw new IllegalArgumentException("Invalid maximum number of concurrent entries: " + maxConcurrentEntries);
+        }
+        this.pipelineStrategy = pipelineStrategy;
+        this.pipelineListener = pipelineListener;
+        this.maxConcurrentEntries = maxConcurrentEntries;
+    }
+
+    /**
+     * Extract a ZIP archive into a target directory.
+     *
+     * @param archive         the archive file
+     * @param targetDirectory the target directory
+     * @return the extracted files, without the existing files skipped according to the pipeline strategy
+     * @throws UncheckedIOException if the archive cannot be extracted,
+     *                              or if an entry resolves outside the target directory
+     */
+    public List<Path> extract(final Path archive, final Path targetDirectory) {
+        Path targetRoot = targetDirectory.toAbsolutePath().normalize();
+        try (ZipFile zipFile = new ZipFile(archive.toFile())) {
+            Map<ZipEntry, Path> targets = new LinkedHashMap<>();
+            for (ZipEntry entry : zipFile.stream().toList()) {
+                targets.put(entry, resolveTarget(targetRoot, entry));
+            }
+
+            List<ZipEntryPipeline> pipelines = new ArrayList<>();
+            for (Map.Entry<ZipEntry, Path> target : targets.entrySet()) {
+                if (target.getKey().isDirectory()) {
+                    Files.createDirectories(target.getValue());
+                } else {
+                    Files.createDirectories(target.getValue().getParent());
+                    pipelines.add(new ZipEntryPipeline(
+                        zipFile, target.getKey(), target.getValue(), pipelineStrategy, pipelineListener));
+                }
+            }
+
+            Semaphore permits = new Semaphore(maxConcurrentEntries);
+            try (ExecutorService executor = newVirtualThreadPerTaskExecutor()) {
+                List<Future<?>> extractions = new ArrayList<>(pipelines.size());
+                for (ZipEntryPipeline pipeline : pipelines) {
+                    acquire(permits);
+                    extractions.add(executor.submit(() -> {
+                        try {
+                            extractEntry(pipeline);
+                        } finally {
+                            permits.release();
+                        }
+                    }));
+                }
+                extractions.forEach(this::await);
+            }
+            return pipelines.stream()
+                .filter(pipeline -> !pipeline.isSkipped())
+                .map(ZipEntryPipeline::getTarget)
+                .toList();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot extract the archive " + archive, ex);
+        }
+    }
+
+    private void extractEntry(final ZipEntryPipeline pipeline) {
+        try {
+            pipeline.openPipeline();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot extract the file " + pipeline.getTarget(), ex);
+        }
+    }
+
+    private void acquire(final Semaphore permits) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while extracting the archive", ex);
+        }
+    }
+
+    private void await(final Future<?> extraction) {
+        try {
+            extraction.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while extracting the archive", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    private Path resolveTarget(final Path targetRoot, final ZipEntry entry) throws ZipException {
+        Path target = targetRoot.resolve(entry.getName()).normalize();
+        if (!target.startsWith(targetRoot) || target.equals(targetRoot) && !entry.isDirectory()) {
+            throw new ZipException("Entry outside of the target directory: " + entry.getName());
+        }
+        return target;
+    }
+}
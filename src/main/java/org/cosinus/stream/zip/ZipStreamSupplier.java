@@ -0,0 +1,252 @@
+/*
+ * Copyright 2025 Cosinus Software
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.cosinus.stream.zip;
+
+import org.cosinus.stream.MetaStreamSupplier;
+import org.cosinus.stream.error.SkipPipelineConsumeException;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+
+import static java.util.stream.Collectors.joining;
+
+/**
+ * Stream supplier of the entries of a ZIP archive, to be flattened by {@link org.cosinus.stream.Streams#flatStream}.
+ * <p>
+ * An archive streams all its entries, in the archive order, and an entry which is itself an archive
+ * (by its {@code .zip} or {@code .jar} extension) streams its own entries, so the nested archives are subtrees.
+ * The other entries stream nothing.
+ * <p>
+ * The entries of the archive file are listed from its central directory, through a {@link ZipFile},
+ * without inflating the entries. The entries of a nested archive are listed by inflating it sequentially.
+ * The archives are closed once listed, so no archive is kept open during the traversal.
+ * An archive which cannot be read as a ZIP archive is skipped.
+ */
+public class ZipStreamSupplier implements MetaStreamSupplier<ZipStreamSupplier> {
+
+    private static final String ENTRY_SEPARATOR = "!/";
+
+    private final Path archive;
+
+    private final List<String> entryNames;
+
+    private final ZipEntry entry;
+
+    /**
+     * Instantiates a new ZipStreamSupplier streaming the entries of an archive file.
+     *
+     * @param archive the path of the archive file
+     */
+    public ZipStreamSupplier(final Path archive) {
+        this(archive, List.of(), null);
+    }
+
+    /**
+     * Instantiates a new ZipStreamSupplier of an archive entry.
+     *
+     * @param archive    the path of the archive file
+     * @param entryNames the names of the entry and of its enclosing entries, from the archive file down to the entry
+     * @param entry      the entry, or null for the archive file itself
+     */
+    private ZipStreamSupplier(final Path archive, final List<String> entryNames, final ZipEntry entry) {
+        this.archive = archive;
+        this.entryNames = entryNames;
+        this.entry = entry;
+    }
+
+    /**
+     * Gets the path of the archive file.
+     *
+     * @return the archive file
+     */
+    public Path getArchive() {
+        return archive;
+    }
+
+    /**
+     * Gets the names of the entry and of its enclosing entries, from the archive file down to the entry.
+     *
+     * @return the entry names, empty for the archive file itself
+     */
+    public List<String> getEntryNames() {
+        return entryNames;
+    }
+
+    /**
+     * Gets the archive entry.
+     *
+     * @return the entry, or null for the archive file itself
+     */
+    public ZipEntry getEntry() {
+        return entry;
+    }
+
+    /**
+     * Gets the name of the entry.
+     *
+     * @return the entry name, or the archive file name for the archive file itself
+     */
+    public String getName() {
+        return entry != null ? entry.getName() : archive.getFileName().toString();
+    }
+
+    /**
+     * Check if this stream supplier is an archive, streaming entries.
+     *
+     * @return true for the archive file or a nested archive entry
+     */
+    public boolean isArchive() {
+        return entry == null || !entry.isDirectory() && isArchiveName(entry.getName());
+    }
+
+    /**
+     * Check if this stream supplier is a leaf, which is any entry but an archive.
+     *
+     * @return true if this stream supplier is not an archive
+     */
+    @Override
+    public boolean isLeaf() {
+        return !isArchive();
+    }
+
+    /**
+     * Open the content of the entry, inflating its enclosing archives if it is nested.
+     *
+     * @return the input stream of the entry content, or of the archive file itself
+     * @throws IOException if the archive cannot be read or the entry is not found
+     */
+    public InputStream openInputStream() throws IOException {
+        if (entryNames.isEmpty()) {
+            return Files.newInputStream(archive);
+        }
+
+        ZipFile zipFile = new ZipFile(archive.toFile());
+        InputStream input = null;
+        try {
+            ZipEntry archiveEntry = zipFile.getEntry(entryNames.getFirst());
+            if (archiveEntry == null) {
+                throw new ZipException("Entry not found: " + entryNames.getFirst());
+            }
+            input = new FilterInputStream(zipFile.getInputStream(archiveEntry)) {
+                @Override
+                public void close() throws IOException {
+                    try (zipFile) {
+                        super.close();
+                    }
+                }
+            };
+            for (String entryName : entryNames.subList(1, entryNames.size())) {
+                ZipInputStream zipInput = new ZipInputStream(input);
+                input = zipInput;
+                ZipEntry nestedEntry;
+                do {
+                    nestedEntry = zipInput.getNextEntry();
+                } while (nestedEntry != null && !nestedEntry.getName().equals(entryName));
+                if (nestedEntry == null) {
+                    throw new ZipException("Entry not found: " + entryName);
+                }
+            }
+            return input;
+        } catch (IOException | RuntimeException ex) {
+            closeAfterFailure(input != null ? input : zipFile, ex);
+            throw ex;
+        }
+    }
+
+    private static void closeAfterFailure(final AutoCloseable closeable, final Exception failure) {
+        try {
+            closeable.close();
+        } catch (Exception closeException) {
+            failure.addSuppressed(closeException);
+        }
+    }
+
+    @Override
+    public Stream<ZipStreamSupplier> stream() {
+        if (!isArchive()) {
+            return Stream.empty();
+        }
+
+        try {
+            return listEntries().stream();
+        } catch (ZipException ex) {
+            throw new SkipPipelineConsumeException(1, "Not a ZIP archive " + this + ": " + ex.getMessage());
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot list the entries of " + this, ex);
+        }
+    }
+
+    private List<ZipStreamSupplier> listEntries() throws IOException {
+        if (entry == null) {
+            try (ZipFile zipFile = new ZipFile(archive.toFile())) {
+                return zipFile.stream().map(this::child).toList();
+            }
+        }
+
+        List<ZipStreamSupplier> children = new ArrayList<>();
+        try (ZipInputStream zipInput = new ZipInputStream(openInputStream())) {
+            ZipEntry nestedEntry;
+            while ((nestedEntry = zipInput.getNextEntry()) != null) {
+                children.add(child(nestedEntry));
+            }
+        }
+        return children;
+    }
+
+    private ZipStreamSupplier child(final ZipEntry childEntry) {
+        List<String> childEntryNames = new ArrayList<>(entryNames.size() + 1);
+        childEntryNames.addAll(entryNames);
+        childEntryNames.add(childEntry.getName());
+        return new ZipStreamSupplier(archive, List.copyOf(childEntryNames), childEntry);
+    }
+
+    private static boolean isArchiveName(final String name) {
+        String lowerCaseName = name.toLowerCase(Locale.ROOT);
+        return lowerCaseName.endsWith(".zip") || lowerCaseName.endsWith(".jar");
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return this == other || other instanceof ZipStreamSupplier zip &&
+            archive.equals(zip.archive) &&
+            entryNames.equals(zip.entryNames);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(archive, entryNames);
+    }
+
+    @Override
+    public String toString() {
+        return Stream.concat(Stream.of(archive.toString()), entryNames.stream()).collect(joining(ENTRY_SEPARATOR));
+    }
+}
@@ -16,17 +16,34 @@
  */
 package org.cosinus.stream;
 
+import org.cosinus.stream.error.StreamTimeoutException;
 import org.cosinus.stream.util.JsonStreamSupplier;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
 
+import java.io.DataInput;
+import java.io.DataOutput;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toMap;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.cosinus.stream.FlatStreamingStrategy.*;
+import static org.cosinus.stream.StreamingStrategy.NO_STRATEGY;
 import static org.cosinus.stream.util.TestStreamerFactory.jsonStreamer;
 
 /**
@@ -34,6 +51,10 @@ import static org.cosinus.stream.util.TestStreamerFactory.jsonStreamer;
  */
 @RunWith(JUnit4.class)
 public class FlatStreamingStrategyTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     /**
      * Test flat streaming using LEVEL_UP_BOTTOM strategy for traversing the streamers tree.
      *
@@ -93,4 +114,798 @@ public class FlatStreamingStrategyTest {
                 "11", "12", "13", "5", "2", "6", "14", "7", "3", "15", "8", "9", "17", "16", "10", "4", "1", "0");
         }
     }
+
+    /**
+     * Test splitting the flat streaming using the depth first strategies, keeping the encounter order.
+     *
+     * @throws IOException while reading the file with json streamers
+     */
+    @Test
+    public void testSplitFlatStreamingKeepsDepthFirstOrder() throws IOException {
+        //GIVEN
+        JsonStreamSupplier jsonStreamer = jsonStreamer("/flat-streaming/streamers.json");
+
+        //WHEN
+        List<String> inDepthNames = splitFlatStream(IN_DEPTH, jsonStreamer);
+        List<String> bottomUpNames = splitFlatStream(LEVEL_BOTTOM_UP, jsonStreamer);
+
+        //THEN
+        assertThat(inDepthNames).containsExactly(
+            "0", "1", "2", "5", "11", "12", "13", "3", "6", "7", "14", "4", "8", "15", "9", "10", "16", "17");
+        assertThat(bottomUpNames).containsExactly(
+            "11", "12", "13", "5", "2", "6", "14", "7", "3", "15", "8", "9", "17", "16", "10", "4", "1", "0");
+    }
+
+    /**
+     * Test splitting a wide root in depth first order into subtrees of its pending children.
+     */
+    @Test
+    public void testSplitWideRootIntoSiblingSubtrees() {
+        //GIVEN
+        JsonStreamSupplier root = wideStreamer();
+        List<String> sequentialNames = Streams.flatStream(IN_DEPTH, root)
+            .map(JsonStreamSupplier::getName)
+            .toList();
+
+        //WHEN
+        FlatStreamingSpliterator<JsonStreamSupplier> suffix =
+            new FlatStreamingSpliterator<>(IN_DEPTH, NO_STRATEGY, Stream.of(root));
+        Spliterator<JsonStreamSupplier> prefix = suffix.trySplit();
+        List<String> prefixNames = new ArrayList<>();
+        List<String> suffixNames = new ArrayList<>();
+        prefix.forEachRemaining(streamer -> prefixNames.add(streamer.getName()));
+        suffix.forEachRemaining(streamer -> suffixNames.add(streamer.getName()));
+
+        //THEN
+        assertThat(prefix).isInstanceOf(FlatStreamingSpliterator.class);
+        assertThat(prefixNames).startsWith("r", "c0", "c0.0");
+        assertThat(suffixNames).isNotEmpty();
+        assertThat(suffixNames.getFirst()).matches("c[1-9]");
+        assertThat(Stream.concat(prefixNames.stream(), suffixNames.stream()))
+            .containsExactlyElementsOf(sequentialNames);
+    }
+
+    /**
+     * Test unordered parallel flat streaming using LEVEL_UP_BOTTOM strategy.
+     *
+     * @throws IOException while reading the file with json streamers
+     */
+    @Test
+    public void testUnorderedParallelFlatStreaming() throws IOException {
+        //GIVEN
+        JsonStreamSupplier jsonStreamer = jsonStreamer("/flat-streaming/streamers.json");
+        TraversalStrategy unordered = new TraversalStrategy() {
+            @Override
+            public boolean isOrdered() {
+                return false;
+            }
+        };
+
+        //WHEN
+        try (Stream<JsonStreamSupplier> flatStream =
+                 Streams.flatStream(LEVEL_UP_BOTTOM, unordered, Stream.of(jsonStreamer), true)) {
+            List<String> flatNames = flatStream.map(JsonStreamSupplier::getName).toList();
+
+            //THEN
+            assertThat(flatNames).containsExactlyInAnyOrder(
+                "0", "1", "2", "3", "4", "5", "6", "7", "8", "9", "10", "11", "12", "13", "14", "15", "16", "17");
+        }
+    }
+
+    /**
+     * Test flat streaming with stream suppliers expanded in background, keeping the traversal order.
+     *
+     * @throws IOException while reading the file with json streamers
+     */
+    @Test
+    public void testPrefetchedExpansionsKeepOrder() throws IOException {
+        //GIVEN
+        JsonStreamSupplier jsonStreamer = jsonStreamer("/flat-streaming/streamers.json");
+        TraversalStrategy prefetching = new TraversalStrategy() {
+            @Override
+            public int getPrefetchExpansions() {
+                return 4;
+            }
+        };
+
+        //WHEN
+        try (Stream<JsonStreamSupplier> inDepthStream =
+                 Streams.flatStream(IN_DEPTH, prefetching, Stream.of(jsonStreamer));
+             Stream<JsonStreamSupplier> upBottomStream =
+                 Streams.flatStream(LEVEL_UP_BOTTOM, prefetching, Stream.of(jsonStreamer));
+             Stream<JsonStreamSupplier> bottomUpStream =
+                 Streams.flatStream(LEVEL_BOTTOM_UP, prefetching, Stream.of(jsonStreamer))) {
+
+            //THEN
+            assertThat(inDepthStream.map(JsonStreamSupplier::getName)).containsExactly(
+                "0", "1", "2", "5", "11", "12", "13", "3", "6", "7", "14", "4", "8", "15", "9", "10", "16", "17");
+            assertThat(upBottomStream.map(JsonStreamSupplier::getName)).containsExactly(
+                "0", "1", "2", "3", "4", "5", "6", "7", "8", "9", "10", "11", "12", "13", "14", "15", "16", "17");
+            assertThat(bottomUpStream.map(JsonStreamSupplier::getName)).containsExactly(
+                "11", "12", "13", "5", "2", "6", "14", "7", "3", "15", "8", "9", "17", "16", "10", "4", "1", "0");
+        }
+    }
+
+    /**
+     * Test flat streaming of a tree with a cycle, using the visited policies breaking the cycles.
+     */
+    @Test
+    public void testVisitedPoliciesBreakCycles() {
+        //GIVEN
+        JsonStreamSupplier first = new JsonStreamSupplier();
+        first.setName("first");
+        JsonStreamSupplier second = new JsonStreamSupplier();
+        second.setName("second");
+        first.setChildren(List.of(second));
+        second.setChildren(List.of(first));
+
+        for (VisitedPolicy visitedPolicy : List.of(VisitedPolicy.EQUALITY, VisitedPolicy.IDENTITY, VisitedPolicy.ANCESTORS)) {
+            //WHEN
+            try (Stream<JsonStreamSupplier> flatStream =
+                     Streams.flatStream(IN_DEPTH, visitedPolicy(visitedPolicy), Stream.of(first))) {
+
+                //THEN
+                assertThat(flatStream.map(JsonStreamSupplier::getName)).containsExactly("first", "second", "first");
+            }
+        }
+    }
+
+    /**
+     * Test flat streaming of a tree without tracking the visited stream suppliers.
+     *
+     * @throws IOException while reading the file with json streamers
+     */
+    @Test
+    public void testNoVisitedPolicy() throws IOException {
+        //GIVEN
+        JsonStreamSupplier jsonStreamer = jsonStreamer("/flat-streaming/streamers.json");
+
+        //WHEN
+        try (Stream<JsonStreamSupplier> flatStream =
+                 Streams.flatStream(LEVEL_BOTTOM_UP, visitedPolicy(VisitedPolicy.NONE), Stream.of(jsonStreamer))) {
+
+            //THEN
+            assertThat(flatStream.map(JsonStreamSupplier::getName)).containsExactly(
+                "11", "12", "13", "5", "2", "6", "14", "7", "3", "15", "8", "9", "17", "16", "10", "4", "1", "0");
+        }
+    }
+
+    /**
+     * Test flat streaming limited by a maximum depth and a pruning predicate.
+     *
+     * @throws IOException while reading the file with json streamers
+     */
+    @Test
+    public void testMaxDepthAndPrunedSubtrees() throws IOException {
+        //GIVEN
+        JsonStreamSupplier jsonStreamer = jsonStreamer("/flat-streaming/streamers.json");
+        TraversalStrategy maxDepth = new TraversalStrategy() {
+            @Override
+            public int getMaxDepth() {
+                return 2;
+            }
+        };
+        TraversalStrategy pruning = new TraversalStrategy() {
+            @Override
+            public boolean shouldExpand(StreamSupplier<?> streamSupplier, int depth) {
+                return !"2".equals(((JsonStreamSupplier) streamSupplier).getName());
+            }
+        };
+
+        //WHEN
+        try (Stream<JsonStreamSupplier> limitedStream = Streams.flatStream(IN_DEPTH, maxDepth, Stream.of(jsonStreamer));
+             Stream<JsonStreamSupplier> prunedStream = Streams.flatStream(IN_DEPTH, pruning, Stream.of(jsonStreamer))) {
+
+            //THEN
+            assertThat(limitedStream.map(JsonStreamSupplier::getName)).containsExactly("0", "1", "2", "3", "4");
+            assertThat(prunedStream.map(JsonStreamSupplier::getName)).containsExactly(
+                "0", "1", "2", "3", "6", "7", "14", "4", "8", "15", "9", "10", "16", "17");
+        }
+    }
+
+    /**
+     * Test depth first flat streaming pulling the children lazily, even from infinite streams.
+     */
+    @Test
+    public void testLazyDepthFirstChildren() {
+        //GIVEN
+        AtomicInteger closedStreams = new AtomicInteger();
+        InfiniteStreamSupplier root = new InfiniteStreamSupplier("r", closedStreams);
+
+        //WHEN
+        try (Stream<InfiniteStreamSupplier> flatStream = Streams.flatStream(IN_DEPTH, Stream.of(root))) {
+            List<String> names = flatStream.limit(4).map(InfiniteStreamSupplier::name).toList();
+
+            //THEN
+            assertThat(names).containsExactly("r", "r0", "r00", "r000");
+        }
+        assertThat(closedStreams).hasValue(4);
+    }
+
+    /**
+     * Test closing a flat streaming spliterator closes also the children pending in the spliterators split from it.
+     */
+    @Test
+    public void testCloseSplitFlatStreaming() {
+        //GIVEN
+        AtomicInteger closedStreams = new AtomicInteger();
+        InfiniteStreamSupplier root = new InfiniteStreamSupplier("r", closedStreams);
+        FlatStreamingSpliterator<InfiniteStreamSupplier> suffix =
+            new FlatStreamingSpliterator<>(IN_DEPTH, NO_STRATEGY, Stream.of(root));
+        Spliterator<InfiniteStreamSupplier> prefix = suffix.trySplit();
+        List<String> names = new ArrayList<>();
+        for (int index = 0; index < 3; index++) {
+            prefix.tryAdvance(streamer -> names.add(streamer.name()));
+        }
+
+        //WHEN
+        suffix.close();
+
+        //THEN
+        assertThat(names).containsExactly("r", "r0", "r00");
+        assertThat(closedStreams).hasValue(3);
+    }
+
+    /**
+     * Test a stream supplier marked as meta stream supplier is expanded,
+     * even if its generic classes do not tell it streams stream suppliers.
+     */
+    @Test
+    public void testMetaStreamSupplierMarker() {
+        //GIVEN
+        GenericStreamSupplier<GenericStreamSupplier<?>> leaf = new GenericStreamSupplier<>("l", List.of());
+        GenericStreamSupplier<GenericStreamSupplier<?>> root = new GenericStreamSupplier<>("r", List.of(leaf));
+
+        //WHEN
+        try (Stream<GenericStreamSupplier<?>> flatStream =
+                 Streams.flatStream(IN_DEPTH, Stream.<GenericStreamSupplier<?>>of(root))) {
+            List<String> names = flatStream.map(GenericStreamSupplier::name).toList();
+
+            //THEN
+            assertThat(names).containsExactly("r", "l");
+        }
+    }
+
+    /**
+     * Test breadth first flat streaming with the pending stream suppliers spilled to a temporary file.
+     *
+     * @throws IOException while reading the file with json streamers
+     */
+    @Test
+    public void testSpilledBreadthFirstFrontier() throws IOException {
+        //GIVEN
+        JsonStreamSupplier jsonStreamer = jsonStreamer("/flat-streaming/streamers.json");
+        StreamSupplierSerializer<JsonStreamSupplier> serializer = nameSerializer(jsonStreamer);
+        TraversalStrategy spilling = new TraversalStrategy() {
+            @Override
+            public int getFrontierMemoryThreshold() {
+                return 2;
+            }
+
+            @Override
+            public StreamSupplierSerializer<?> getStreamSupplierSerializer() {
+                return serializer;
+            }
+        };
+
+        //WHEN
+        try (Stream<JsonStreamSupplier> flatStream =
+                 Streams.flatStream(LEVEL_UP_BOTTOM, spilling, Stream.of(jsonStreamer))) {
+
+            //THEN
+            assertThat(flatStream.map(JsonStreamSupplier::getName)).containsExactly(
+                "0", "1", "2", "3", "4", "5", "6", "7", "8", "9", "10", "11", "12", "13", "14", "15", "16", "17");
+        }
+    }
+
+    /**
+     * Test breadth first flat streaming of a tree with cycles, with the pending stream suppliers spilled
+     * to a temporary file and the cycles broken by ancestors.
+     */
+    @Test
+    public void testSpilledFrontierWithCycles() {
+        //GIVEN
+        JsonStreamSupplier first = new JsonStreamSupplier();
+        first.setName("first");
+        JsonStreamSupplier second = new JsonStreamSupplier();
+        second.setName("second");
+        JsonStreamSupplier third = new JsonStreamSupplier();
+        third.setName("third");
+        first.setChildren(List.of(second, third));
+        second.setChildren(List.of(first));
+        third.setChildren(List.of(first));
+        StreamSupplierSerializer<JsonStreamSupplier> serializer =
+            nameSerializer(Map.of("first", first, "second", second, "third", third));
+        TraversalStrategy spilling = new TraversalStrategy() {
+            @Override
+            public VisitedPolicy getVisitedPolicy() {
+                return VisitedPolicy.ANCESTORS;
+            }
+
+            @Override
+            public int getFrontierMemoryThreshold() {
+                return 1;
+            }
+
+            @Override
+            public StreamSupplierSerializer<?> getStreamSupplierSerializer() {
+                return serializer;
+            }
+        };
+
+        //WHEN
+        try (Stream<JsonStreamSupplier> flatStream =
+                 Streams.flatStream(LEVEL_UP_BOTTOM, spilling, Stream.of(first))) {
+
+            //THEN
+            assertThat(flatStream.limit(20).map(JsonStreamSupplier::getName))
+                .containsExactly("first", "second", "third", "first", "first");
+        }
+    }
+
+    /**
+     * Test resuming an interrupted flat stream from its checkpoint.
+     *
+     * @throws IOException while reading the file with json streamers
+     */
+    @Test
+    public void testResumeFromCheckpoint() throws IOException {
+        //GIVEN
+        JsonStreamSupplier jsonStreamer = jsonStreamer("/flat-streaming/streamers.json");
+        StreamSupplierSerializer<JsonStreamSupplier> serializer = nameSerializer(jsonStreamer);
+        Path checkpointFile = temporaryFolder.getRoot().toPath().resolve("checkpoint");
+        List<String> names = new ArrayList<>();
+
+        //WHEN
+        try (Stream<JsonStreamSupplier> flatStream = Streams.flatStream(
+            IN_DEPTH, checkpointing(serializer, checkpointFile, false), Stream.of(jsonStreamer))) {
+            flatStream.limit(6).map(JsonStreamSupplier::getName).forEach(names::add);
+        }
+
+        //THEN
+        assertThat(checkpointFile).exists();
+
+        //WHEN
+        try (Stream<JsonStreamSupplier> flatStream = Streams.flatStream(
+            IN_DEPTH, checkpointing(serializer, checkpointFile, true), Stream.of(jsonStreamer))) {
+            flatStream.map(JsonStreamSupplier::getName).forEach(names::add);
+        }
+
+        //THEN
+        assertThat(names).containsExactly(
+            "0", "1", "2", "5", "11", "12", "13", "3", "6", "7", "14", "4", "8", "15", "9", "10", "16", "17");
+        assertThat(checkpointFile).doesNotExist();
+    }
+
+    /**
+     * Test the checkpoint left by a flat stream closed early is not resumed unless explicitly asked.
+     *
+     * @throws IOException while reading the file with json streamers
+     */
+    @Test
+    public void testCheckpointNotResumedByDefault() throws IOException {
+        //GIVEN
+        JsonStreamSupplier jsonStreamer = jsonStreamer("/flat-streaming/streamers.json");
+        StreamSupplierSerializer<JsonStreamSupplier> serializer = nameSerializer(jsonStreamer);
+        Path checkpointFile = temporaryFolder.getRoot().toPath().resolve("checkpoint");
+        TraversalStrategy checkpointing = checkpointing(serializer, checkpointFile, false);
+        try (Stream<JsonStreamSupplier> flatStream =
+                 Streams.flatStream(IN_DEPTH, checkpointing, Stream.of(jsonStreamer))) {
+            assertThat(flatStream.findFirst()).isPresent();
+        }
+
+        //WHEN
+        try (Stream<JsonStreamSupplier> flatStream =
+                 Streams.flatStream(IN_DEPTH, checkpointing, Stream.of(jsonStreamer))) {
+            List<String> names = flatStream.map(JsonStreamSupplier::getName).toList();
+
+            //THEN
+            assertThat(names).containsExactly(
+                "0", "1", "2", "5", "11", "12", "13", "3", "6", "7", "14", "4", "8", "15", "9", "10", "16", "17");
+        }
+        assertThat(checkpointFile).doesNotExist();
+    }
+
+    /**
+     * Test hedging the slow stream requests of a flat stream.
+     */
+    @Test(timeout = 10000)
+    public void testHedgedExpansion() {
+        //GIVEN
+        AtomicInteger slowCalls = new AtomicInteger();
+        SlowStreamSupplier root = new SlowStreamSupplier("r", 40, "r.30", slowCalls);
+        StreamingStrategy hedging = new StreamingStrategy() {
+            @Override
+            public boolean isHedgedCalls() {
+                return true;
+            }
+        };
+
+        //WHEN
+        try (Stream<SlowStreamSupplier> flatStream = Streams.flatStream(IN_DEPTH, hedging, Stream.of(root))) {
+            List<String> names = flatStream.map(SlowStreamSupplier::name).toList();
+
+            //THEN
+            assertThat(names).hasSize(41).startsWith("r", "r.0").endsWith("r.39");
+            assertThat(slowCalls).hasValue(2);
+        }
+    }
+
+    /**
+     * Test retrying the stream requests of a flat stream not returning before their deadline.
+     */
+    @Test(timeout = 10000)
+    public void testExpansionDeadlineRetried() {
+        //GIVEN
+        AtomicInteger slowCalls = new AtomicInteger();
+        SlowStreamSupplier root = new SlowStreamSupplier("r", 10, "r.5", slowCalls);
+        StreamingStrategy deadline = new StreamingStrategy() {
+            @Override
+            public Duration getCallTimeout() {
+                return Duration.ofMillis(200);
+            }
+
+            @Override
+            public boolean shouldRetryOnFail(Exception exception) {
+                return exception instanceof StreamTimeoutException;
+            }
+        };
+
+        //WHEN
+        try (Stream<SlowStreamSupplier> flatStream = Streams.flatStream(IN_DEPTH, deadline, Stream.of(root))) {
+            List<String> names = flatStream.map(SlowStreamSupplier::name).toList();
+
+            //THEN
+            assertThat(names).hasSize(11).startsWith("r", "r.0").endsWith("r.9");
+            assertThat(slowCalls).hasValue(2);
+        }
+    }
+
+    /**
+     * Test the calls hitting their deadline are tracked with the deadline as latency, so the next calls are hedged.
+     */
+    @Test
+    public void testTimedOutCallsTracked() {
+        //GIVEN
+        AtomicInteger calls = new AtomicInteger();
+        try (FlatStreamingExecutor executor = new FlatStreamingExecutor()) {
+            for (int index = 0; index < 16; index++) {
+                assertThatThrownBy(() -> executor.call(() -> {
+                    Thread.sleep(1000);
+                    return Stream.empty();
+                }, Duration.ofMillis(20), 0))
+                    .isInstanceOf(StreamTimeoutException.class);
+            }
+
+            //WHEN
+            Stream<String> result = executor.call(() -> {
+                if (calls.incrementAndGet() == 1) {
+                    Thread.sleep(5000);
+                }
+                return Stream.of("hedged");
+            }, Duration.ofSeconds(2), 0.5);
+
+            //THEN
+            assertThat(result).containsExactly("hedged");
+            assertThat(calls).hasValue(2);
+        }
+    }
+
+    /**
+     * Test incremental flat streaming, reusing the children of the unchanged stream suppliers.
+     */
+    @Test
+    public void testIncrementalTraversal() {
+        //GIVEN
+        TreeState tree = new TreeState(new HashMap<>(), new HashMap<>(), new AtomicInteger());
+        tree.children().put("r", new ArrayList<>(List.of("a", "b")));
+        tree.children().put("a", new ArrayList<>(List.of("a1", "a2")));
+        tree.children().put("b", new ArrayList<>(List.of("b1")));
+        TraversalStrategy incremental = incremental(tree);
+
+        //WHEN
+        List<String> firstNames = incrementalNames(incremental, tree);
+        List<String> secondNames = incrementalNames(incremental, tree);
+
+        //THEN
+        assertThat(firstNames).containsExactly("r", "a", "a1", "a2", "b", "b1");
+        assertThat(secondNames).isEqualTo(firstNames);
+        assertThat(tree.calls()).hasValue(6);
+
+        //WHEN
+        tree.children().get("a").add("a3");
+        tree.versions().put("a", 1);
+        List<String> thirdNames = incrementalNames(incremental, tree);
+
+        //THEN
+        assertThat(thirdNames).containsExactly("r", "a", "a1", "a2", "a3", "b", "b1");
+        assertThat(tree.calls()).hasValue(8);
+    }
+
+    /**
+     * Test an incremental flat stream closed before its end keeps the children indexed by the previous traversal.
+     */
+    @Test
+    public void testIncrementalTraversalClosedEarly() {
+        //GIVEN
+        TreeState tree = new TreeState(new HashMap<>(), new HashMap<>(), new AtomicInteger());
+        tree.children().put("r", new ArrayList<>(List.of("a", "b")));
+        tree.children().put("a", new ArrayList<>(List.of("a1", "a2")));
+        tree.children().put("b", new ArrayList<>(List.of("b1")));
+        TraversalStrategy incremental = incremental(tree);
+        List<String> firstNames = incrementalNames(incremental, tree);
+
+        //WHEN
+        try (Stream<VersionedTreeSupplier> flatStream =
+                 Streams.flatStream(IN_DEPTH, incremental, Stream.of(new VersionedTreeSupplier("r", tree)))) {
+            assertThat(flatStream.limit(2).map(VersionedTreeSupplier::name)).containsExactly("r", "a");
+        }
+        List<String> lastNames = incrementalNames(incremental, tree);
+
+        //THEN
+        assertThat(lastNames).isEqualTo(firstNames);
+        assertThat(tree.calls()).hasValue(6);
+    }
+
+    /**
+     * Test an incremental flat stream resumed from a checkpoint keeps the children indexed before the checkpoint.
+     */
+    @Test
+    public void testIncrementalTraversalResumedFromCheckpoint() {
+        //GIVEN
+        TreeState tree = new TreeState(new HashMap<>(), new HashMap<>(), new AtomicInteger());
+        tree.children().put("r", new ArrayList<>(List.of("a", "b")));
+        tree.children().put("a", new ArrayList<>(List.of("a1", "a2")));
+        tree.children().put("b", new ArrayList<>(List.of("b1")));
+        TraversalStrategy incremental = incremental(tree);
+        Path checkpointFile = temporaryFolder.getRoot().toPath().resolve("checkpoint");
+        TraversalStrategy resumable = new TraversalStrategy() {
+            @Override
+            public StreamSupplierSerializer<?> getStreamSupplierSerializer() {
+                return incremental.getStreamSupplierSerializer();
+            }
+
+            @Override
+            public Path getFingerprintIndexFile() {
+                return incremental.getFingerprintIndexFile();
+            }
+
+            @Override
+            public Path getCheckpointFile() {
+                return checkpointFile;
+            }
+
+            @Override
+            public Duration getCheckpointInterval() {
+                return Duration.ZERO;
+            }
+
+            @Override
+            public boolean isResumeFromCheckpoint() {
+                return true;
+            }
+        };
+        List<String> firstNames = incrementalNames(incremental, tree);
+        try (Stream<VersionedTreeSupplier> flatStream =
+                 Streams.flatStream(IN_DEPTH, resumable, Stream.of(new VersionedTreeSupplier("r", tree)))) {
+            assertThat(flatStream.limit(4).map(VersionedTreeSupplier::name)).containsExactly("r", "a", "a1", "a2");
+        }
+
+        //WHEN
+        List<String> resumedNames = incrementalNames(resumable, tree);
+        List<String> lastNames = incrementalNames(incremental, tree);
+
+        //THEN
+        assertThat(resumedNames).containsExactly("b", "b1");
+        assertThat(lastNames).isEqualTo(firstNames);
+        assertThat(tree.calls()).hasValue(6);
+    }
+
+    /**
+     * Test the expansions completing after the fingerprint index is closed are not indexed anymore.
+     */
+    @Test
+    public void testFingerprintIndexClosedBeforeExpansion() {
+        //GIVEN
+        TreeState tree = new TreeState(new HashMap<>(), new HashMap<>(), new AtomicInteger());
+        tree.children().put("r", new ArrayList<>(List.of("a", "b")));
+        TraversalStrategy incremental = incremental(tree);
+        incrementalNames(incremental, tree);
+        @SuppressWarnings("unchecked")
+        FingerprintIndex<VersionedTreeSupplier> fingerprintIndex = new FingerprintIndex<>(
+            incremental.getFingerprintIndexFile(),
+            (StreamSupplierSerializer<VersionedTreeSupplier>) incremental.getStreamSupplierSerializer());
+        VersionedTreeSupplier root = new VersionedTreeSupplier("r", tree);
+
+        //WHEN
+        fingerprintIndex.close();
+        Stream<? extends VersionedTreeSupplier> children = fingerprintIndex.getChildren(root, root::stream);
+
+        //THEN
+        assertThat(children.map(VersionedTreeSupplier::name)).containsExactly("a", "b");
+        assertThat(incremental.getFingerprintIndexFile().resolveSibling("fingerprints.tmp")).doesNotExist();
+        assertThat(incrementalNames(incremental, tree)).containsExactly("r", "a", "b");
+        assertThat(tree.calls()).hasValue(4);
+    }
+
+    private TraversalStrategy incremental(TreeState tree) {
+        Path indexFile = temporaryFolder.getRoot().toPath().resolve("fingerprints");
+        StreamSupplierSerializer<VersionedTreeSupplier> serializer = new StreamSupplierSerializer<>() {
+            @Override
+            public void write(VersionedTreeSupplier streamSupplier, DataOutput output) throws IOException {
+                output.writeUTF(streamSupplier.name());
+            }
+
+            @Override
+            public VersionedTreeSupplier read(DataInput input) throws IOException {
+                return new VersionedTreeSupplier(input.readUTF(), tree);
+            }
+        };
+        return new TraversalStrategy() {
+            @Override
+            public StreamSupplierSerializer<?> getStreamSupplierSerializer() {
+                return serializer;
+            }
+
+            @Override
+            public Path getFingerprintIndexFile() {
+                return indexFile;
+            }
+        };
+    }
+
+    private List<String> incrementalNames(TraversalStrategy incremental, TreeState tree) {
+        try (Stream<VersionedTreeSupplier> flatStream =
+                 Streams.flatStream(IN_DEPTH, incremental, Stream.of(new VersionedTreeSupplier("r", tree)))) {
+            return flatStream.map(VersionedTreeSupplier::name).toList();
+        }
+    }
+
+    private StreamSupplierSerializer<JsonStreamSupplier> nameSerializer(JsonStreamSupplier root) {
+        return nameSerializer(Streams.flatStream(IN_DEPTH, root)
+            .collect(toMap(JsonStreamSupplier::getName, identity())));
+    }
+
+    private StreamSupplierSerializer<JsonStreamSupplier> nameSerializer(
+        Map<String, JsonStreamSupplier> streamersByName) {
+        return new StreamSupplierSerializer<>() {
+            @Override
+            public void write(JsonStreamSupplier streamSupplier, DataOutput output) throws IOException {
+                output.writeUTF(streamSupplier.getName());
+            }
+
+            @Override
+            public JsonStreamSupplier read(DataInput input) throws IOException {
+                return streamersByName.get(input.readUTF());
+            }
+        };
+    }
+
+    private TraversalStrategy checkpointing(StreamSupplierSerializer<JsonStreamSupplier> serializer,
+                                            Path checkpointFile,
+                                            boolean resume) {
+        return new TraversalStrategy() {
+            @Override
+            public StreamSupplierSerializer<?> getStreamSupplierSerializer() {
+                return serializer;
+            }
+
+            @Override
+            public Path getCheckpointFile() {
+                return checkpointFile;
+            }
+
+            @Override
+            public Duration getCheckpointInterval() {
+                return Duration.ZERO;
+            }
+
+            @Override
+            public boolean isResumeFromCheckpoint() {
+                return resume;
+            }
+        };
+    }
+
+    private TraversalStrategy visitedPolicy(VisitedPolicy visitedPolicy) {
+        return new TraversalStrategy() {
+            @Override
+            public VisitedPolicy getVisitedPolicy() {
+                return visitedPolicy;
+            }
+        };
+    }
+
+    private JsonStreamSupplier wideStreamer() {
+        JsonStreamSupplier root = new JsonStreamSupplier();
+        root.setName("r");
+        root.setChildren(IntStream.range(0, 10)
+            .mapToObj(index -> {
+                JsonStreamSupplier leaf = new JsonStreamSupplier();
+                leaf.setName("c" + index + ".0");
+                JsonStreamSupplier child = new JsonStreamSupplier();
+                child.setName("c" + index);
+                child.setChildren(List.of(leaf));
+                return child;
+            })
+            .toList());
+        return root;
+    }
+
+    private List<String> splitFlatStream(FlatStreamingStrategy flatStreamingStrategy, JsonStreamSupplier root) {
+        FlatStreamingSpliterator<JsonStreamSupplier> suffix =
+            new FlatStreamingSpliterator<>(flatStreamingStrategy, NO_STRATEGY, Stream.of(root));
+        List<String> names = new ArrayList<>();
+        suffix.tryAdvance(streamer -> names.add(streamer.getName()));
+        suffix.tryAdvance(streamer -> names.add(streamer.getName()));
+
+        Spliterator<JsonStreamSupplier> prefix = suffix.trySplit();
+        assertThat(prefix).isInstanceOf(FlatStreamingSpliterator.class);
+        prefix.forEachRemaining(streamer -> names.add(streamer.getName()));
+        suffix.forEachRemaining(streamer -> names.add(streamer.getName()));
+        return names;
+    }
+
+    private record GenericStreamSupplier<T extends StreamSupplier<?>>(String name, List<T> children)
+        implements MetaStreamSupplier<T> {
+
+        @Override
+        public Stream<T> stream() {
+            return children.stream();
+        }
+    }
+
+    private record InfiniteStreamSupplier(String name, AtomicInteger closedStreams)
+        implements MetaStreamSupplier<InfiniteStreamSupplier> {
+
+        @Override
+        public Stream<InfiniteStreamSupplier> stream() {
+            return Stream.iterate(0, index -> index + 1)
+                .map(index -> new InfiniteStreamSupplier(name + index, closedStreams))
+                .onClose(closedStreams::incrementAndGet);
+        }
+    }
+
+    private record SlowStreamSupplier(String name, int childCount, String slowName, AtomicInteger slowCalls)
+        implements MetaStreamSupplier<SlowStreamSupplier> {
+
+        @Override
+        public Stream<SlowStreamSupplier> stream() {
+            if (name.equals(slowName) && slowCalls.incrementAndGet() == 1) {
+                try {
+                    Thread.sleep(Duration.ofMinutes(1));
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return IntStream.range(0, childCount)
+                .mapToObj(index -> new SlowStreamSupplier(name + "." + index, 0, slowName, slowCalls));
+        }
+    }
+
+    private record TreeState(Map<String, List<String>> children,
+                             Map<String, Integer> versions,
+                             AtomicInteger calls) {
+    }
+
+    private record VersionedTreeSupplier(String name, TreeState tree)
+        implements MetaStreamSupplier<VersionedTreeSupplier>, VersionedStreamSupplier<VersionedTreeSupplier> {
+
+        @Override
+        public Stream<VersionedTreeSupplier> stream() {
+            tree.calls().incrementAndGet();
+            return tree.children().getOrDefault(name, List.of()).stream()
+                .map(child -> new VersionedTreeSupplier(child, tree));
+        }
+
+        @Override
+        public String getStreamKey() {
+            return name;
+        }
+
+        @Override
+        public String getStreamVersion() {
+            return String.valueOf(tree.versions().getOrDefault(name, 0));
+        }
+    }
 }
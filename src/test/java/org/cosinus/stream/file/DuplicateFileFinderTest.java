@@ -0,0 +1,69 @@
+/*
+ * Copyright 2025 Cosinus Software
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.cosinus.stream.file;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for finding duplicate files
+ */
+@RunWith(JUnit4.class)
+public class DuplicateFileFinderTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    /**
+     * Test finding the duplicate files eliminated by size, by samples and by full content.
+     *
+     * @throws IOException while creating the files
+     */
+    @Test
+    public void testFindDuplicates() throws IOException {
+        //GIVEN
+        Path root = temporaryFolder.newFolder("root").toPath();
+        Path sub = Files.createDirectories(root.resolve("sub"));
+        Path small = Files.writeString(root.resolve("small.txt"), "abc");
+        Path smallCopy = Files.writeString(sub.resolve("small-copy.txt"), "abc");
+        Files.writeString(root.resolve("small-other.txt"), "abd");
+        Path large = Files.writeString(root.resolve("large.txt"), "head-0123456789-tail");
+        Path largeCopy = Files.writeString(sub.resolve("large-copy.txt"), "head-0123456789-tail");
+        Files.writeString(sub.resolve("large-middle.txt"), "head-0123499999-tail");
+        Files.writeString(sub.resolve("large-head.txt"), "HEAD-0123456789-tail");
+        Files.writeString(root.resolve("unique.txt"), "unique size");
+
+        //WHEN
+        List<List<Path>> duplicates = new DuplicateFileFinder(5, "SHA-256").findDuplicates(root);
+
+        //THEN
+        assertThat(duplicates).containsExactly(
+            List.of(large, largeCopy).stream().sorted().toList(),
+            List.of(small, smallCopy).stream().sorted().toList());
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2025 Cosinus Software
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.cosinus.stream.file;
+
+import org.cosinus.stream.FlatStreamingSpliterator;
+import org.cosinus.stream.StreamSupplierSerializer;
+import org.cosinus.stream.Streams;
+import org.cosinus.stream.TraversalStrategy;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static java.util.stream.Collectors.toMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.cosinus.stream.FlatStreamingStrategy.IN_DEPTH;
+import static org.cosinus.stream.StreamingStrategy.NO_STRATEGY;
+
+/**
+ * Tests for file tree streaming
+ */
+@RunWith(JUnit4.class)
+public class FileStreamSupplierTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    /**
+     * Test flat streaming a file tree, filtering the files by glob.
+     *
+     * @throws IOException while creating the file tree
+     */
+    @Test
+    public void testFileTreeWithGlob() throws IOException {
+        //GIVEN
+        Path root = createFileTree();
+
+        //WHEN
+        try (Stream<FileStreamSupplier> flatStream =
+                 Streams.flatStream(IN_DEPTH, new FileStreamSupplier(root, "*.txt"))) {
+            Map<String, Long> sizes = flatStream
+                .filter(file -> !file.isDirectory())
+                .collect(toMap(file -> root.relativize(file.getPath()).toString(), FileStreamSupplier::getSize));
+
+            //THEN
+            assertThat(sizes).containsOnly(
+                Map.entry("a.txt", 1L),
+                Map.entry(Path.of("sub", "c.txt").toString(), 3L),
+                Map.entry(Path.of("sub", "deep", "d.txt").toString(), 4L));
+        }
+    }
+
+    /**
+     * Test flat streaming a file tree with a fingerprint index, listing again only the changed directories.
+     *
+     * @throws IOException while creating the file tree
+     */
+    @Test
+    public void testFileTreeWithFingerprintIndex() throws IOException {
+        //GIVEN
+        Path root = createFileTree();
+        FileStreamSupplier rootSupplier = new FileStreamSupplier(root);
+        Path indexFile = temporaryFolder.newFolder("index").toPath().resolve("files.idx");
+        TraversalStrategy incremental = new TraversalStrategy() {
+            @Override
+            public StreamSupplierSerializer<?> getStreamSupplierSerializer() {
+                return rootSupplier.serializer();
+            }
+
+            @Override
+            public Path getFingerprintIndexFile() {
+                return indexFile;
+            }
+        };
+
+        //WHEN
+        long firstCount = countFiles(incremental, rootSupplier);
+        Files.writeString(root.resolve("sub").resolve("e.txt"), "eeeee");
+        long secondCount = countFiles(incremental, new FileStreamSupplier(root));
+
+        //THEN
+        assertThat(indexFile).exists();
+        assertThat(firstCount).isEqualTo(8);
+        assertThat(secondCount).isEqualTo(9);
+    }
+
+    /**
+     * Test only the directories of a file tree are expanded and tracked as visited.
+     *
+     * @throws IOException while creating the file tree
+     */
+    @Test
+    public void testOnlyDirectoriesVisited() throws IOException {
+        //GIVEN
+        Path root = createFileTree();
+        List<Path> visited = new ArrayList<>();
+        FlatStreamingSpliterator<FileStreamSupplier> spliterator =
+            new FlatStreamingSpliterator<>(IN_DEPTH, NO_STRATEGY, Stream.of(new FileStreamSupplier(root))) {
+                @Override
+                protected void setStreamed(FileStreamSupplier streamer) {
+                    visited.add(streamer.getPath());
+                    super.setStreamed(streamer);
+                }
+            };
+
+        //WHEN
+        try (Stream<FileStreamSupplier> flatStream =
+                 StreamSupport.stream(spliterator, false).onClose(spliterator::close)) {
+            long count = flatStream.count();
+
+            //THEN
+            assertThat(count).isEqualTo(8);
+            assertThat(visited).containsExactly(root, root.resolve("sub"), root.resolve("sub").resolve("deep"));
+        }
+    }
+
+    private long countFiles(TraversalStrategy traversalStrategy, FileStreamSupplier root) {
+        try (Stream<FileStreamSupplier> flatStream = Streams.flatStream(IN_DEPTH, traversalStrategy, Stream.of(root))) {
+            return flatStream.count();
+        }
+    }
+
+    private Path createFileTree() throws IOException {
+        Path root = temporaryFolder.newFolder("root").toPath();
+        Path deep = Files.createDirectories(root.resolve("sub").resolve("deep"));
+        Files.writeString(root.resolve("a.txt"), "a");
+        Files.writeString(root.resolve("b.log"), "bb");
+        Files.writeString(root.resolve("sub").resolve("c.txt"), "ccc");
+        Files.writeString(deep.resolve("d.txt"), "dddd");
+        Files.writeString(deep.resolve("e.bin"), "eeeee");
+        return root;
+    }
+}
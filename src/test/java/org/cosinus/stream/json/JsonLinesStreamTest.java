@@ -0,0 +1,191 @@
+/*
+ * Copyright 2025 Cosinus Software
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.cosinus.stream.json;
+
+import org.cosinus.stream.pipeline.PipelineListener;
+import org.cosinus.stream.pipeline.json.JsonPipeline;
+import org.cosinus.stream.pipeline.json.JsonPipelineStrategy;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for JSON Lines streaming
+ */
+@RunWith(JUnit4.class)
+public class JsonLinesStreamTest {
+
+    /**
+     * Test streaming multiple json lines.
+     */
+    @Test
+    public void testMultipleLines() {
+        //GIVEN
+        InputStream input = input("""
+            {"name":"one","count":1}
+            {"name":"two","count":2}
+            {"name":"three","count":3}
+            """);
+
+        //WHEN
+        try (JsonLinesStream<Item> items = JsonLinesStream.of(input, Item.class)) {
+            List<Item> values = items.toList();
+
+            //THEN
+            assertThat(values).containsExactly(
+                new Item("one", 1),
+                new Item("two", 2),
+                new Item("three", 3));
+        }
+    }
+
+    /**
+     * Test the blank lines are skipped.
+     */
+    @Test
+    public void testBlankLines() {
+        //GIVEN
+        InputStream input = input("\n{\"name\":\"one\",\"count\":1}\n\n   \n{\"name\":\"two\",\"count\":2}\n\n");
+
+        //WHEN
+        try (JsonLinesStream<Item> items = JsonLinesStream.of(input, Item.class)) {
+            List<Item> values = items.toList();
+
+            //THEN
+            assertThat(values).containsExactly(new Item("one", 1), new Item("two", 2));
+        }
+    }
+
+    /**
+     * Test a null line is skipped without stopping the stream.
+     */
+    @Test
+    public void testNullLine() {
+        //GIVEN
+        InputStream input = input("""
+            {"name":"one","count":1}
+            null
+            {"name":"two","count":2}
+            """);
+
+        //WHEN
+        try (JsonLinesStream<Item> items = JsonLinesStream.of(input, Item.class)) {
+            List<Item> values = items.toList();
+
+            //THEN
+            assertThat(values).containsExactly(new Item("one", 1), new Item("two", 2));
+        }
+    }
+
+    /**
+     * Test a malformed line fails the stream.
+     */
+    @Test
+    public void testMalformedLine() {
+        //GIVEN
+        InputStream input = input("""
+            {"name":"one","count":1}
+            {"name":"two",
+            """);
+
+        //WHEN
+        try (JsonLinesStream<Item> items = JsonLinesStream.of(input, Item.class)) {
+
+            //THEN
+            assertThatThrownBy(items::toList).isInstanceOf(UncheckedIOException.class);
+        }
+    }
+
+    /**
+     * Test writing values through a json pipeline and reading them back, both with the cached reader and writer.
+     *
+     * @throws IOException if the pipeline fails
+     */
+    @Test
+    public void testPipelineRoundTrip() throws IOException {
+        //GIVEN
+        List<Item> items = List.of(new Item("one", 1), new Item("two", 2), new Item("three", 3));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ItemPipeline pipeline = new ItemPipeline(items, output);
+
+        //WHEN
+        pipeline.openPipeline();
+        try (JsonLinesStream<Item> values = JsonLinesStream.of(input(output.toString(UTF_8)), Item.class)) {
+
+            //THEN
+            assertThat(pipeline.objectWriter()).isSameAs(JsonMapping.writer(Item.class));
+            assertThat(values.toList()).containsExactlyElementsOf(items);
+        }
+    }
+
+    private InputStream input(final String text) {
+        return new ByteArrayInputStream(text.getBytes(UTF_8));
+    }
+
+    /**
+     * The json test item.
+     *
+     * @param name  the name
+     * @param count the count
+     */
+    public record Item(String name, int count) {
+    }
+
+    /**
+     * The json pipeline writing test items.
+     *
+     * @param items        the items to write
+     * @param outputStream the output stream
+     */
+    private record ItemPipeline(List<Item> items, OutputStream outputStream) implements JsonPipeline<Item> {
+
+        @Override
+        public Stream<Item> openPipelineInputStream(final JsonPipelineStrategy pipelineStrategy) {
+            return items.stream();
+        }
+
+        @Override
+        public JsonPipelineStrategy getPipelineStrategy() {
+            return new JsonPipelineStrategy() {
+            };
+        }
+
+        @Override
+        public PipelineListener<Item> getPipelineListener() {
+            return null;
+        }
+
+        @Override
+        public Class<Item> elementType() {
+            return Item.class;
+        }
+    }
+}
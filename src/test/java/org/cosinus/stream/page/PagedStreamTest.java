@@ -0,0 +1,364 @@
+/*
+ * Copyright 2025 Cosinus Software
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.cosinus.stream.page;
+
+import org.cosinus.stream.Streams;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for paged streaming
+ */
+@RunWith(JUnit4.class)
+public class PagedStreamTest {
+
+    private static final int ITEMS_COUNT = 1000;
+
+    /**
+     * Test paged streaming with pages prefetched in background.
+     */
+    @Test
+    public void testPrefetchedPages() {
+        //GIVEN
+        PagingStrategy pagingStrategy = pagingStrategy(30, 4);
+
+        //WHEN
+        try (Stream<Integer> pagedStream = Streams.pagedStream(this::getPage, pagingStrategy)) {
+            List<Integer> items = pagedStream.toList();
+
+            //THEN
+            assertThat(items).isEqualTo(IntStream.range(0, ITEMS_COUNT).boxed().toList());
+        }
+    }
+
+    /**
+     * Test the prefetched pages are delivered in the page order, even if fetched in another order.
+     */
+    @Test
+    public void testPrefetchedPagesDeliveredInOrder() {
+        //GIVEN
+        PageSupplier<Integer> pageSupplier = (pageSize, pageNumber) -> {
+            try {
+                // the first pages of every prefetched batch are the slowest
+                Thread.sleep((4 - pageNumber % 4) * 5L);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return getPage(pageSize, pageNumber);
+        };
+
+        //WHEN
+        try (Stream<Integer> pagedStream = Streams.pagedStream(pageSupplier, pagingStrategy(25, 4))) {
+            List<Integer> items = pagedStream.toList();
+
+            //THEN
+            assertThat(items).isEqualTo(IntStream.range(0, ITEMS_COUNT).boxed().toList());
+        }
+    }
+
+    /**
+     * Test the pages still prefetched in background are cancelled when the paged stream is closed.
+     *
+     * @throws InterruptedException while waiting for the prefetched pages to be cancelled
+     */
+    @Test(timeout = 10000)
+    public void testPrefetchedPagesCancelledOnClose() throws InterruptedException {
+        //GIVEN
+        CountDownLatch fetchingPages = new CountDownLatch(2);
+        CountDownLatch cancelledPages = new CountDownLatch(2);
+        PageSupplier<Integer> pageSupplier = (pageSize, pageNumber) -> {
+            if (pageNumber > 1) {
+                fetchingPages.countDown();
+                try {
+                    Thread.sleep(60000);
+                } catch (InterruptedException ex) {
+                    cancelledPages.countDown();
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return getPage(pageSize, pageNumber);
+        };
+        Stream<Integer> pagedStream = Streams.pagedStream(pageSupplier, pagingStrategy(10, 2));
+        assertThat(pagedStream.iterator().next()).isZero();
+        assertThat(fetchingPages.await(5, SECONDS)).isTrue();
+
+        //WHEN
+        pagedStream.close();
+
+        //THEN
+        assertThat(cancelledPages.await(5, SECONDS)).isTrue();
+    }
+
+    /**
+     * Test an error thrown while prefetching a page is thrown once the previous pages are consumed.
+     */
+    @Test(timeout = 10000)
+    public void testPrefetchedPageError() {
+        //GIVEN
+        PageSupplier<Integer> pageSupplier = (pageSize, pageNumber) -> {
+            if (pageNumber == 3) {
+                throw new IllegalStateException("Page failure");
+            }
+            return getPage(pageSize, pageNumber);
+        };
+        List<Integer> items = new ArrayList<>();
+
+        //WHEN
+        try (Stream<Integer> pagedStream = Streams.pagedStream(pageSupplier, pagingStrategy(10, 4))) {
+
+            //THEN
+            assertThatThrownBy(() -> pagedStream.forEach(items::add))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Page failure");
+            assertThat(items).isEqualTo(IntStream.range(0, 20).boxed().toList());
+        }
+    }
+
+    /**
+     * Test parallel paged streaming over page ranges, keeping the page order.
+     */
+    @Test
+    public void testParallelOrderedPages() {
+        //GIVEN
+        Set<Integer> fetchedPages = ConcurrentHashMap.newKeySet();
+        PageSupplier<Integer> pageSupplier = new PageSupplier<>() {
+            @Override
+            public List<Integer> getPage(int pageSize, int pageNumber) {
+                fetchedPages.add(pageNumber);
+                return PagedStreamTest.this.getPage(pageSize, pageNumber);
+            }
+
+            @Override
+            public int getPageCount(int pageSize) {
+                return (ITEMS_COUNT + pageSize - 1) / pageSize;
+            }
+        };
+
+        //WHEN
+        try (Stream<Integer> pagedStream = Streams.pagedStream(pageSupplier, pagingStrategy(10, 0), true)) {
+            List<Integer> items = pagedStream.map(item -> item * 2).toList();
+
+            //THEN
+            assertThat(items).isEqualTo(IntStream.range(0, ITEMS_COUNT).map(item -> item * 2).boxed().toList());
+            assertThat(fetchedPages).hasSize(100);
+        }
+    }
+
+    /**
+     * Test streaming pages fetched by cursor, with pages prefetched in background.
+     */
+    @Test
+    public void testPrefetchedCursorPages() {
+        //GIVEN
+        CursorPageSupplier<Integer, Integer> pageSupplier = (pageSize, cursor) -> {
+            int from = cursor == null ? 0 : cursor;
+            int to = Math.min(from + pageSize, ITEMS_COUNT);
+            List<Integer> items = IntStream.range(from, to).boxed().toList();
+            return to < ITEMS_COUNT ? CursorPage.of(items, to) : CursorPage.last(items);
+        };
+
+        //WHEN
+        try (Stream<Integer> pagedStream = Streams.cursorPagedStream(pageSupplier, pagingStrategy(64, 3))) {
+            List<Integer> items = pagedStream.toList();
+
+            //THEN
+            assertThat(items).isEqualTo(IntStream.range(0, ITEMS_COUNT).boxed().toList());
+        }
+    }
+
+    /**
+     * Test an error thrown while prefetching a cursor page is thrown to the consumer instead of blocking it.
+     */
+    @Test(timeout = 10000)
+    public void testPrefetchedCursorPageError() {
+        //GIVEN
+        CursorPageSupplier<Integer, Integer> pageSupplier = (pageSize, cursor) -> {
+            if (cursor != null) {
+                throw new AssertionError("Page failure");
+            }
+            return CursorPage.of(IntStream.range(0, pageSize).boxed().toList(), pageSize);
+        };
+
+        //WHEN
+        try (Stream<Integer> pagedStream = Streams.cursorPagedStream(pageSupplier, pagingStrategy(64, 3))) {
+
+            //THEN
+            assertThatThrownBy(pagedStream::toList)
+                .isInstanceOf(AssertionError.class)
+                .hasMessage("Page failure");
+        }
+    }
+
+    /**
+     * Test paged streaming with the page size adapted to the fetch latency.
+     */
+    @Test
+    public void testAdaptivePageSize() {
+        //GIVEN
+        Set<Integer> pageSizes = ConcurrentHashMap.newKeySet();
+        PageSupplier<Integer> pageSupplier = (pageSize, pageNumber) -> {
+            pageSizes.add(pageSize);
+            return getPage(pageSize, pageNumber);
+        };
+        PagingStrategy pagingStrategy = new PagingStrategy() {
+            @Override
+            public int getPageSize() {
+                return 8;
+            }
+
+            @Override
+            public int getPrefetchPages() {
+                return 2;
+            }
+
+            @Override
+            public boolean isAdaptivePageSize() {
+                return true;
+            }
+        };
+
+        //WHEN
+        try (Stream<Integer> pagedStream = Streams.pagedStream(pageSupplier, pagingStrategy)) {
+            List<Integer> items = pagedStream.toList();
+
+            //THEN
+            assertThat(items).isEqualTo(IntStream.range(0, ITEMS_COUNT).boxed().toList());
+            assertThat(pageSizes).contains(8).anyMatch(pageSize -> pageSize > 8);
+        }
+    }
+
+    /**
+     * Test paged streaming over pages returning the total count, so the stream is sized from the start.
+     */
+    @Test
+    public void testPagesWithTotalCount() {
+        //GIVEN
+        Set<Integer> fetchedPages = ConcurrentHashMap.newKeySet();
+        PageResultSupplier<Integer> pageSupplier = (pageSize, pageNumber) -> {
+            fetchedPages.add(pageNumber);
+            return Page.of(getPage(pageSize, pageNumber), ITEMS_COUNT);
+        };
+
+        //WHEN
+        try (Stream<Integer> pagedStream = Streams.pagedStream(pageSupplier, pagingStrategy(100, 2), true)) {
+            Spliterator<Integer> spliterator = pagedStream.spliterator();
+
+            //THEN
+            assertThat(fetchedPages).containsExactly(1);
+            assertThat(spliterator.hasCharacteristics(Spliterator.SIZED)).isTrue();
+            assertThat(spliterator.getExactSizeIfKnown()).isEqualTo(ITEMS_COUNT);
+            assertThat(StreamSupport.stream(spliterator, true).toList())
+                .isEqualTo(IntStream.range(0, ITEMS_COUNT).boxed().toList());
+            assertThat(fetchedPages).hasSize(10);
+        }
+    }
+
+    /**
+     * Test the stream over pages returning the total count is sized when created,
+     * so counting it needs only the first page.
+     */
+    @Test
+    public void testSizedPagedStreamCount() {
+        //GIVEN
+        Set<Integer> fetchedPages = ConcurrentHashMap.newKeySet();
+        PageResultSupplier<Integer> pageSupplier = (pageSize, pageNumber) -> {
+            fetchedPages.add(pageNumber);
+            return Page.of(getPage(pageSize, pageNumber), ITEMS_COUNT);
+        };
+
+        //WHEN
+        try (Stream<Integer> pagedStream = Streams.pagedStream(pageSupplier, pagingStrategy(100, 0))) {
+            long count = pagedStream.count();
+
+            //THEN
+            assertThat(count).isEqualTo(ITEMS_COUNT);
+            assertThat(fetchedPages).containsExactly(1);
+        }
+    }
+
+    /**
+     * Test streaming the same pages twice through a bounded page cache.
+     */
+    @Test
+    public void testCachedPages() {
+        //GIVEN
+        AtomicInteger fetchCount = new AtomicInteger();
+        PageSupplier<Integer> pageSupplier = (pageSize, pageNumber) -> {
+            fetchCount.incrementAndGet();
+            return getPage(pageSize, pageNumber);
+        };
+        PageCache pageCache = new PageCache(ITEMS_COUNT, Duration.ofMinutes(1));
+        CachingPageSupplier<Integer> cachingPageSupplier = new CachingPageSupplier<>(pageSupplier, pageCache, "items");
+
+        //WHEN
+        List<Integer> firstItems = Streams.pagedStream(cachingPageSupplier, pagingStrategy(100, 0)).toList();
+        List<Integer> secondItems = Streams.pagedStream(cachingPageSupplier, pagingStrategy(100, 0)).toList();
+
+        //THEN
+        assertThat(firstItems).isEqualTo(IntStream.range(0, ITEMS_COUNT).boxed().toList());
+        assertThat(secondItems).isEqualTo(firstItems);
+        assertThat(pageCache.weight()).isEqualTo(ITEMS_COUNT);
+        assertThat(fetchCount).hasValue(11);
+
+        //WHEN
+        cachingPageSupplier.invalidate();
+        Streams.pagedStream(cachingPageSupplier, pagingStrategy(100, 0)).limit(1).toList();
+
+        //THEN
+        assertThat(pageCache.size()).isEqualTo(1);
+        assertThat(fetchCount).hasValue(12);
+    }
+
+    private List<Integer> getPage(int pageSize, int pageNumber) {
+        int from = (pageNumber - 1) * pageSize;
+        return IntStream.range(Math.min(from, ITEMS_COUNT), Math.min(from + pageSize, ITEMS_COUNT))
+            .boxed()
+            .toList();
+    }
+
+    private PagingStrategy pagingStrategy(int pageSize, int prefetchPages) {
+        return new PagingStrategy() {
+            @Override
+            public int getPageSize() {
+                return pageSize;
+            }
+
+            @Override
+            public int getPrefetchPages() {
+                return prefetchPages;
+            }
+        };
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2025 Cosinus Software
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.cosinus.stream.reflection;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.cosinus.stream.reflection.ReflectionStream.ancestorStream;
+import static org.cosinus.stream.reflection.ReflectionStream.classAncestorStream;
+
+/**
+ * Tests for reflection streaming
+ */
+@RunWith(JUnit4.class)
+public class ReflectionStreamTest {
+
+    /**
+     * Test the ancestors of a class are analyzed once and shared by the next streams.
+     */
+    @Test
+    public void testClassAncestorsMemoized() {
+        //GIVEN
+        List<ClassDescriptor<?>> firstAncestors = classAncestorStream(ArrayList.class).toList();
+
+        //WHEN
+        List<ClassDescriptor<?>> classAncestors = classAncestorStream(ArrayList.class).toList();
+        List<ClassDescriptor<?>> objectAncestors = ancestorStream(new ArrayList<>()).toList();
+
+        //THEN
+        assertThat(firstAncestors.stream().<Class<?>>map(ClassDescriptor::getMainClass))
+            .startsWith(ArrayList.class)
+            .contains(List.class, Object.class);
+        assertThat(classAncestors).hasSameSizeAs(firstAncestors);
+        assertThat(objectAncestors).hasSameSizeAs(firstAncestors);
+        for (int index = 0; index < firstAncestors.size(); index++) {
+            assertThat(classAncestors.get(index)).isSameAs(firstAncestors.get(index));
+            assertThat(objectAncestors.get(index)).isSameAs(firstAncestors.get(index));
+        }
+    }
+
+    /**
+     * Test an interface reached by several paths of a diamond hierarchy is streamed once.
+     */
+    @Test
+    public void testDiamondAncestorStreamedOnce() {
+        //GIVEN
+        Class<?> type = Diamond.class;
+
+        //WHEN
+        List<ClassDescriptor<?>> ancestors = classAncestorStream(type).toList();
+
+        //THEN
+        assertThat(ancestors.stream().<Class<?>>map(ClassDescriptor::getMainClass))
+            .containsExactlyInAnyOrder(Diamond.class, Left.class, Right.class, Top.class, Object.class);
+        ClassDescriptor<?> top = ancestors.stream()
+            .filter(ancestor -> ancestor.getMainClass() == Top.class)
+            .findFirst()
+            .orElseThrow();
+        assertThat(top.getGenericClasses()).containsExactly(String.class);
+    }
+
+    /**
+     * Test the ancestors are cached per class, each class being analyzed on its own.
+     */
+    @Test
+    public void testAncestorsCachedPerClass() {
+        //GIVEN
+        List<ClassDescriptor<?>> diamondAncestors = classAncestorStream(Diamond.class).toList();
+
+        //WHEN
+        List<ClassDescriptor<?>> leftAncestors = classAncestorStream(Left.class).toList();
+
+        //THEN
+        assertThat(leftAncestors.stream().<Class<?>>map(ClassDescriptor::getMainClass))
+            .containsExactly(Left.class, Top.class);
+        assertThat(leftAncestors).doesNotContainAnyElementsOf(diamondAncestors);
+        assertThat(classAncestorStream(Left.class).toList()).containsExactlyElementsOf(leftAncestors);
+        assertThat(classAncestorStream(Diamond.class).toList()).containsExactlyElementsOf(diamondAncestors);
+    }
+
+    /**
+     * Test the generic classes of a shared descriptor cannot be changed.
+     */
+    @Test
+    @SuppressWarnings("removal")
+    public void testImmutableClassDescriptor() {
+        //GIVEN
+        ClassDescriptor<?> top = classAncestorStream(Left.class)
+            .filter(ancestor -> ancestor.getMainClass() == Top.class)
+            .findFirst()
+            .orElseThrow();
+
+        //WHEN
+        top.getGenericClasses()[0] = Integer.class;
+
+        //THEN
+        assertThat(top.getGenericClasses()).containsExactly(String.class);
+        assertThatThrownBy(() -> top.setGenericClasses(new Class<?>[]{Integer.class}))
+            .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    private interface Top<T> {
+    }
+
+    private interface Left extends Top<String> {
+    }
+
+    private interface Right extends Top<String> {
+    }
+
+    private static class Diamond implements Left, Right {
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2025 Cosinus Software
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.cosinus.stream.text;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.cosinus.stream.text.DelimitedFormat.CSV;
+import static org.cosinus.stream.text.DelimitedFormat.TSV;
+
+/**
+ * Tests for delimited records streaming
+ */
+@RunWith(JUnit4.class)
+public class DelimitedStreamTest {
+
+    /**
+     * Test tokenizing CSV lines with quoted and escaped fields.
+     */
+    @Test
+    public void testCsvQuotedFields() {
+        //GIVEN
+        Stream<String> lines = Stream.of(
+            "1,plain,\"quoted, with delimiter\"",
+            "2,,\"with \"\"escaped\"\" quotes\"");
+
+        //WHEN
+        try (DelimitedStream records = DelimitedStream.of(lines, CSV, 0, 1, 2)) {
+            List<List<String>> values = records.map(record -> List.of(record.toStrings())).toList();
+
+            //THEN
+            assertThat(values).containsExactly(
+                List.of("1", "plain", "quoted, with delimiter"),
+                List.of("2", "", "with \"escaped\" quotes"));
+        }
+    }
+
+    /**
+     * Test tokenizing a CSV record with a quoted field spanning multiple lines.
+     */
+    @Test
+    public void testCsvMultilineField() {
+        //GIVEN
+        Stream<String> lines = Stream.of("1,\"first", "second\",end", "2,single,end");
+
+        //WHEN
+        try (DelimitedStream records = DelimitedStream.of(lines, CSV, 1, 2)) {
+            List<List<String>> values = records.map(record -> List.of(record.toStrings())).toList();
+
+            //THEN
+            assertThat(values).containsExactly(
+                List.of("first\nsecond", "end"),
+                List.of("single", "end"));
+        }
+    }
+
+    /**
+     * Test projecting columns and reading fields without materializing them.
+     */
+    @Test
+    public void testColumnProjection() {
+        //GIVEN
+        Stream<String> lines = Stream.of("a\t10\tx\\ty\tunused", "b\t-20\tz");
+
+        //WHEN
+        try (DelimitedStream records = DelimitedStream.of(lines, TSV, 2, 1)) {
+            List<String> values = records
+                .map(record -> record.getString(0) + "=" + record.getLong(1) + "@" + record.getColumnCount())
+                .toList();
+
+            //THEN
+            assertThat(values).containsExactly("x\ty=10@3", "z=-20@3");
+        }
+    }
+
+    /**
+     * Test missing projected columns in short lines.
+     */
+    @Test
+    public void testMissingColumns() {
+        //GIVEN
+        DelimitedTokenizer tokenizer = new DelimitedTokenizer(CSV, 0, 3);
+        DelimitedRecord record = tokenizer.createRecord();
+
+        //WHEN
+        tokenizer.tokenize("only,two", record);
+
+        //THEN
+        assertThat(record.getString(0)).isEqualTo("only");
+        assertThat(record.isPresent(1)).isFalse();
+        assertThat(record.contentEquals(0, "only")).isTrue();
+    }
+
+    /**
+     * Test rejecting a column projected twice.
+     */
+    @Test
+    public void testDuplicateProjectedColumn() {
+        //WHEN
+        assertThatThrownBy(() -> new DelimitedTokenizer(CSV, 1, 1))
+
+            //THEN
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Duplicate column: 1");
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2025 Cosinus Software
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.cosinus.stream.text;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+import static java.nio.charset.StandardCharsets.UTF_16;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.util.concurrent.CompletableFuture.delayedExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for following text streaming
+ */
+@RunWith(JUnit4.class)
+public class FollowingTextStreamTest {
+
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(20);
+
+    /**
+     * The temporary folder for the followed files.
+     */
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    /**
+     * Test following the lines appended to a file, including multibyte characters.
+     *
+     * @throws IOException while writing the followed file
+     */
+    @Test(timeout = 10000)
+    public void testAppend() throws IOException {
+        //GIVEN
+        Path file = textFile("first\nsecond ü\n");
+
+        //WHEN
+        try (Stream<String> lines = TextStream.follow(file, UTF_8, false, POLL_INTERVAL)) {
+            Iterator<String> iterator = lines.iterator();
+
+            //THEN
+            assertThat(iterator.next()).isEqualTo("first");
+            assertThat(iterator.next()).isEqualTo("second ü");
+
+            Files.writeString(file, "third €\r\n", APPEND);
+            assertThat(iterator.next()).isEqualTo("third €");
+        }
+    }
+
+    /**
+     * Test a partial last line is provided only when its line terminator is written,
+     * even if the terminator arrives in the middle of a multibyte character.
+     *
+     * @throws IOException while writing the followed file
+     */
+    @Test(timeout = 10000)
+    public void testPartialLastLine() throws IOException {
+        //GIVEN
+        byte[] euro = "€".getBytes(UTF_8);
+        Path file = textFile("complete\npart");
+        Files.write(file, new byte[] {euro[0]}, APPEND);
+
+        //WHEN
+        try (Stream<String> lines = TextStream.follow(file, UTF_8, false, POLL_INTERVAL)) {
+            Iterator<String> iterator = lines.iterator();
+            assertThat(iterator.next()).isEqualTo("complete");
+            CompletableFuture.runAsync(() -> append(file, new byte[] {euro[1], euro[2], '\n'}),
+                delayedExecutor(100, MILLISECONDS));
+
+            //THEN
+            assertThat(iterator.next()).isEqualTo("part€");
+        }
+    }
+
+    /**
+     * Test the streaming continues from the beginning of a truncated file.
+     *
+     * @throws IOException while writing the followed file
+     */
+    @Test(timeout = 10000)
+    public void testTruncation() throws IOException {
+        //GIVEN
+        Path file = textFile("a long first line\na long second line\n");
+
+        //WHEN
+        try (Stream<String> lines = TextStream.follow(file, UTF_8, false, POLL_INTERVAL)) {
+            Iterator<String> iterator = lines.iterator();
+            assertThat(iterator.next()).isEqualTo("a long first line");
+            assertThat(iterator.next()).isEqualTo("a long second line");
+            Files.writeString(file, "short\n", TRUNCATE_EXISTING);
+
+            //THEN
+            assertThat(iterator.next()).isEqualTo("short");
+        }
+    }
+
+    /**
+     * Test the streaming continues with the new file when the followed file is rotated.
+     *
+     * @throws IOException while writing the followed file
+     */
+    @Test(timeout = 10000)
+    public void testRotation() throws IOException {
+        //GIVEN
+        Path file = textFile("old\n");
+
+        //WHEN
+        try (Stream<String> lines = TextStream.follow(file, UTF_8, false, POLL_INTERVAL)) {
+            Iterator<String> iterator = lines.iterator();
+            assertThat(iterator.next()).isEqualTo("old");
+            Files.move(file, file.resolveSibling("followed.log.1"));
+            Files.writeString(file, "new\n");
+
+            //THEN
+            assertThat(iterator.next()).isEqualTo("new");
+        }
+    }
+
+    /**
+     * Test following a file with a charset which is not ASCII compatible is rejected.
+     *
+     * @throws IOException while writing the followed file
+     */
+    @Test
+    public void testNotAsciiCompatibleCharset() throws IOException {
+        //GIVEN
+        Path file = textFile("line\n");
+
+        //WHEN //THEN
+        assertThatThrownBy(() -> TextStream.follow(file, UTF_16, false, POLL_INTERVAL))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private Path textFile(final String text) throws IOException {
+        Path file = temporaryFolder.getRoot().toPath().resolve("followed.log");
+        Files.writeString(file, text);
+        return file;
+    }
+
+    private void append(final Path file, final byte[] bytes) {
+        try {
+            Files.write(file, bytes, APPEND);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2025 Cosinus Software
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.cosinus.stream.text;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static java.nio.charset.StandardCharsets.UTF_16;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.IntStream.range;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for line index based text streaming
+ */
+@RunWith(JUnit4.class)
+public class LineIndexTest {
+
+    /**
+     * The temporary folder for the indexed files.
+     */
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    /**
+     * Test streaming a text file starting from a given line.
+     *
+     * @throws IOException while writing the text file
+     */
+    @Test
+    public void testStreamFromLine() throws IOException {
+        //GIVEN
+        Path file = textFile(1000);
+        LineIndex lineIndex = LineIndex.build(file, 64);
+
+        //WHEN
+        try (Stream<String> lines = TextStream.of(file, lineIndex, 995)) {
+            List<String> lastLines = lines.toList();
+
+            //THEN
+            assertThat(lineIndex.getLineCount()).isEqualTo(1000);
+            assertThat(lastLines).containsExactly("line 995", "line 996", "line 997", "line 998", "line 999");
+        }
+    }
+
+    /**
+     * Test streaming a text file in parallel, split by line count.
+     *
+     * @throws IOException while writing the text file
+     */
+    @Test
+    public void testParallelStream() throws IOException {
+        //GIVEN
+        Path file = textFile(10000);
+        LineIndex lineIndex = LineIndex.build(file, 100);
+
+        //WHEN
+        try (Stream<String> lines = TextStream.of(file, lineIndex, 0).parallel()) {
+            List<String> allLines = lines.toList();
+
+            //THEN
+            assertThat(allLines).isEqualTo(range(0, 10000).mapToObj(line -> "line " + line).toList());
+        }
+    }
+
+    /**
+     * Test persisting the line index next to the indexed file.
+     *
+     * @throws IOException while writing the text file
+     */
+    @Test
+    public void testPersistedIndex() throws IOException {
+        //GIVEN
+        Path file = textFile(300);
+        LineIndex builtIndex = LineIndex.loadOrBuild(file, 10);
+
+        //WHEN
+        LineIndex loadedIndex = LineIndex.loadOrBuild(file, 20);
+
+        //THEN
+        assertThat(LineIndex.indexFile(file)).exists();
+        assertThat(loadedIndex.getInterval()).isEqualTo(builtIndex.getInterval());
+        assertThat(loadedIndex.offsetBefore(299)).isEqualTo(builtIndex.offsetBefore(299));
+    }
+
+    /**
+     * Test indexing and streaming a text file with CRLF line terminators.
+     *
+     * @throws IOException while writing the text file
+     */
+    @Test
+    public void testCrLfTerminators() throws IOException {
+        //GIVEN
+        Path file = textFile(1000, "\r\n");
+        LineIndex lineIndex = LineIndex.build(file, 10);
+
+        //WHEN
+        try (Stream<String> lines = TextStream.of(file, lineIndex, 995)) {
+            List<String> lastLines = lines.toList();
+
+            //THEN
+            assertThat(lineIndex.getLineCount()).isEqualTo(1000);
+            assertThat(lastLines).containsExactly("line 995", "line 996", "line 997", "line 998", "line 999");
+        }
+    }
+
+    /**
+     * Test indexing and streaming a text file with lone CR line terminators, mixed with the other terminators.
+     *
+     * @throws IOException while writing the text file
+     */
+    @Test
+    public void testCrTerminators() throws IOException {
+        //GIVEN
+        Path file = temporaryFolder.newFile().toPath();
+        Files.writeString(file, range(0, 1000)
+            .mapToObj(line -> "line " + line + (line % 3 == 0 ? "\r" : line % 3 == 1 ? "\n" : "\r\n"))
+            .collect(joining()));
+        LineIndex lineIndex = LineIndex.build(file, 7);
+
+        //WHEN
+        try (Stream<String> lines = TextStream.of(file, lineIndex, 0).parallel()) {
+            List<String> allLines = lines.toList();
+
+            //THEN
+            assertThat(lineIndex.getLineCount()).isEqualTo(1000);
+            assertThat(allLines).isEqualTo(Files.readAllLines(file));
+        }
+    }
+
+    /**
+     * Test streaming a text file changed since indexed is rejected.
+     *
+     * @throws IOException while writing the text file
+     */
+    @Test
+    public void testChangedFileRejected() throws IOException {
+        //GIVEN
+        Path file = textFile(100);
+        LineIndex lineIndex = LineIndex.build(file, 10);
+
+        //WHEN
+        Files.writeString(file, "line 100\n", APPEND);
+
+        //THEN
+        assertThatThrownBy(() -> TextStream.of(file, lineIndex, 0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Test streaming a text file in a charset which is not ASCII compatible is rejected.
+     *
+     * @throws IOException while writing the text file
+     */
+    @Test
+    public void testNotAsciiCompatibleCharsetRejected() throws IOException {
+        //GIVEN
+        Path file = textFile(100);
+        LineIndex lineIndex = LineIndex.build(file, 10);
+
+        //WHEN
+        //THEN
+        assertThatThrownBy(() -> TextStream.of(file, UTF_16, lineIndex, 0, lineIndex.getLineCount()))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("ASCII");
+    }
+
+    private Path textFile(int lineCount) throws IOException {
+        return textFile(lineCount, "\n");
+    }
+
+    private Path textFile(int lineCount, String terminator) throws IOException {
+        Path file = temporaryFolder.newFile().toPath();
+        Files.writeString(file, range(0, lineCount)
+            .mapToObj(line -> "line " + line)
+            .collect(joining(terminator)));
+        return file;
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright 2025 Cosinus Software
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.cosinus.stream.zip;
+
+import org.cosinus.stream.Streams;
+import org.cosinus.stream.pipeline.PipelineListener;
+import org.cosinus.stream.pipeline.binary.BinaryPipelineStrategy;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipOutputStream;
+
+import static java.util.stream.Collectors.toMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+import static org.cosinus.stream.FlatStreamingStrategy.IN_DEPTH;
+
+/**
+ * Tests for ZIP archive streaming
+ */
+@RunWith(JUnit4.class)
+public class ZipStreamTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    /**
+     * Test flat streaming the entries of a ZIP archive, including a nested archive.
+     *
+     * @throws IOException while creating the archive
+     */
+    @Test
+    public void testNestedArchiveEntries() throws IOException {
+        //GIVEN
+        Map<String, byte[]> nestedEntries = new LinkedHashMap<>();
+        nestedEntries.put("nested/c.txt", bytes("ccc"));
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        entries.put("a.txt", bytes("a"));
+        entries.put("inner.zip", zip(nestedEntries));
+        entries.put("dir/b.txt", bytes("bb"));
+        Path archive = writeZip("archive.zip", entries);
+
+        //WHEN
+        try (Stream<ZipStreamSupplier> flatStream = Streams.flatStream(IN_DEPTH, new ZipStreamSupplier(archive))) {
+            List<ZipStreamSupplier> zipEntries = flatStream.toList();
+
+            //THEN
+            assertThat(zipEntries).extracting(ZipStreamSupplier::getName)
+                .containsExactly("archive.zip", "a.txt", "inner.zip", "nested/c.txt", "dir/b.txt");
+            try (InputStream input = zipEntries.get(3).openInputStream()) {
+                assertThat(new String(input.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("ccc");
+            }
+        }
+    }
+
+    /**
+     * Test extracting the entries of a ZIP archive in parallel.
+     *
+     * @throws IOException while creating the archive
+     */
+    @Test
+    public void testParallelExtraction() throws IOException {
+        //GIVEN
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        IntStream.range(0, 50)
+            .forEach(index -> entries.put("dir" + index % 5 + "/file" + index, bytes("data" + index)));
+        Path archive = writeZip("archive.zip", entries);
+        Path target = temporaryFolder.newFolder("target").toPath();
+
+        //WHEN
+        List<Path> files = new ZipExtractor().extract(archive, target);
+
+        //THEN
+        assertThat(files).hasSize(50);
+        for (int index = 0; index < 50; index++) {
+            assertThat(target.resolve("dir" + index % 5).resolve("file" + index)).hasContent("data" + index);
+        }
+    }
+
+    /**
+     * Test the number of entries extracted at the same time is limited.
+     *
+     * @throws IOException while creating the archive
+     */
+    @Test
+    public void testExtractionConcurrencyLimit() throws IOException {
+        //GIVEN
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        IntStream.range(0, 20).forEach(index -> entries.put("file" + index, bytes("data" + index)));
+        Path archive = writeZip("archive.zip", entries);
+        Path target = temporaryFolder.newFolder("target").toPath();
+        AtomicInteger openPipelines = new AtomicInteger();
+        AtomicInteger maxOpenPipelines = new AtomicInteger();
+        PipelineListener<byte[]> pipelineListener = new PipelineListener<>() {
+            @Override
+            public void beforePipelineOpen() {
+                maxOpenPipelines.accumulateAndGet(openPipelines.incrementAndGet(), Math::max);
+                try {
+                    // let the other entries start meanwhile
+                    Thread.sleep(10);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            @Override
+            public void afterPipelineClose(boolean pipelineFailed) {
+                openPipelines.decrementAndGet();
+            }
+        };
+
+        //WHEN
+        List<Path> files = new ZipExtractor(new BinaryPipelineStrategy() {}, pipelineListener, 2)
+            .extract(archive, target);
+
+        //THEN
+        assertThat(files).hasSize(20);
+        assertThat(maxOpenPipelines.get()).isBetween(1, 2);
+    }
+
+    /**
+     * Test the entries of a ZIP archive which are not archives are leaves.
+     *
+     * @throws IOException while creating the archive
+     */
+    @Test
+    public void testArchiveLeaves() throws IOException {
+        //GIVEN
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        entries.put("a.txt", bytes("a"));
+        entries.put("inner.jar", zip(Map.of("b.txt", bytes("b"))));
+        Path archive = writeZip("archive.zip", entries);
+
+        //WHEN
+        try (Stream<ZipStreamSupplier> flatStream = Streams.flatStream(IN_DEPTH, new ZipStreamSupplier(archive))) {
+            Map<String, Boolean> leaves = flatStream
+                .collect(toMap(ZipStreamSupplier::getName, ZipStreamSupplier::isLeaf));
+
+            //THEN
+            assertThat(leaves).containsOnly(
+                entry("archive.zip", false), entry("a.txt", true), entry("inner.jar", false), entry("b.txt", true));
+        }
+    }
+
+    /**
+     * Test the existing files skipped by the extraction are not returned as extracted.
+     *
+     * @throws IOException while creating the archive
+     */
+    @Test
+    public void testExtractionSkipsExistingFiles() throws IOException {
+        //GIVEN
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        entries.put("a.txt", bytes("a"));
+        entries.put("b.txt", bytes("b"));
+        Path archive = writeZip("archive.zip", entries);
+        Path target = temporaryFolder.newFolder("target").toPath();
+        Files.writeString(target.resolve("a.txt"), "existing");
+        BinaryPipelineStrategy skipExisting = new BinaryPipelineStrategy() {
+            @Override
+            public boolean shouldSkipExistingTarget() {
+                return true;
+            }
+        };
+
+        //WHEN
+        List<Path> files = new ZipExtractor(skipExisting, null).extract(archive, target);
+
+        //THEN
+        assertThat(files).containsExactly(target.toAbsolutePath().normalize().resolve("b.txt"));
+        assertThat(target.resolve("a.txt")).hasContent("existing");
+        assertThat(target.resolve("b.txt")).hasContent("b");
+    }
+
+    /**
+     * Test rejecting a ZIP archive with an entry outside the target directory.
+     *
+     * @throws IOException while creating the archive
+     */
+    @Test
+    public void testZipSlipRejected() throws IOException {
+        //GIVEN
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        entries.put("a.txt", bytes("a"));
+        entries.put("../evil.txt", bytes("evil"));
+        Path archive = writeZip("evil.zip", entries);
+        Path target = temporaryFolder.newFolder("target").toPath();
+
+        //WHEN
+        assertThatThrownBy(() -> new ZipExtractor().extract(archive, target))
+
+            //THEN
+            .isInstanceOf(UncheckedIOException.class)
+            .hasCauseInstanceOf(ZipException.class);
+        assertThat(target).isEmptyDirectory();
+        assertThat(target.resolveSibling("evil.txt")).doesNotExist();
+    }
+
+    private Path writeZip(String name, Map<String, byte[]> entries) throws IOException {
+        return Files.write(temporaryFolder.getRoot().toPath().resolve(name), zip(entries));
+    }
+
+    private byte[] zip(Map<String, byte[]> entries) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zipOutput = new ZipOutputStream(bytes)) {
+            for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+                zipOutput.putNextEntry(new ZipEntry(entry.getKey()));
+                zipOutput.write(entry.getValue());
+                zipOutput.closeEntry();
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+}